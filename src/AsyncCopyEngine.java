@@ -0,0 +1,206 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CLASSE: AsyncCopyEngine
+ * DESCRIÇÃO: Motor de cópia sobre AsynchronousFileChannel. São emitidas
+ * readAhead leituras simultâneas; cada leitura concluída encadeia, no próprio
+ * CompletionHandler, a escrita do bloco e depois a leitura do próximo bloco
+ * livre.
+ *
+ * No Linux o JDK não tem E/S de arquivo assíncrona no kernel: cada leitura
+ * ou escrita é uma chamada bloqueante executada em uma thread do executor
+ * do canal. O executor tem por isso readAhead threads - uma por operação em
+ * voo; com uma única thread as operações seriam executadas uma de cada vez.
+ */
+class AsyncCopyEngine implements CopyEngine {
+
+    private final int readAhead;
+    private final int bufferSize;
+
+    AsyncCopyEngine(int readAhead, int bufferSize) {
+        this.readAhead = readAhead;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "async (AsynchronousFileChannel, " + readAhead + " leituras adiantadas de "
+                + CopyOptions.formatSize(bufferSize) + ")";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService ioThreads = Executors.newFixedThreadPool(readAhead, runnable -> {
+            Thread thread = new Thread(runnable, "copy-async-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (AsynchronousFileChannel source = AsynchronousFileChannel.open(Paths.get(context.sourceFile()),
+                EnumSet.of(StandardOpenOption.READ), ioThreads);
+                AsynchronousFileChannel target = AsynchronousFileChannel.open(Paths.get(context.destFile()),
+                        EnumSet.of(StandardOpenOption.WRITE), ioThreads)) {
+
+            Transfer transfer = new Transfer(context, source, target, source.size());
+            transfer.start();
+            transfer.await();
+
+            context.addReportNote("Operações assíncronas: " + transfer.reads.get() + " leituras, "
+                    + transfer.writes.get() + " escritas, " + threadCount.get() + " threads de E/S");
+
+            Throwable error = transfer.failure.get();
+            if (error instanceof IOException) {
+                throw (IOException) error;
+            } else if (error != null) {
+                throw new IOException("Falha na cópia assíncrona", error);
+            }
+            return transfer.copied.get();
+        } finally {
+            ioThreads.shutdownNow();
+        }
+    }
+
+    /**
+     * ESTADO DA CÓPIA - cada "slot" percorre leitura -> escrita -> próxima leitura
+     */
+    private final class Transfer {
+
+        private final CopyContext context;
+        private final AsynchronousFileChannel source;
+        private final AsynchronousFileChannel target;
+        private final long size;
+
+        private final AtomicLong nextOffset = new AtomicLong();
+        private final AtomicLong copied = new AtomicLong();
+        private final AtomicInteger reads = new AtomicInteger();
+        private final AtomicInteger writes = new AtomicInteger();
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch finished;
+
+        Transfer(CopyContext context, AsynchronousFileChannel source, AsynchronousFileChannel target, long size) {
+            this.context = context;
+            this.source = source;
+            this.target = target;
+            this.size = size;
+            this.finished = new CountDownLatch(readAhead);
+        }
+
+        void start() {
+            for (int i = 0; i < readAhead; i++) {
+                readNextBlock(ByteBuffer.allocateDirect(bufferSize));
+            }
+        }
+
+        /**
+         * AGUARDA TODOS OS SLOTS; INTERRUPÇÃO IMPEDE NOVAS LEITURAS E DRENA AS PENDENTES
+         * await() limpa a flag ao lançar: a interrupção é lembrada, a espera
+         * continua bloqueada (sem girar) e a flag é restaurada no final.
+         */
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    finished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    if (!interrupted) {
+                        interrupted = true;
+                        stopped.set(true);
+                        ConsoleLog.info("⚠ Operação interrompida pelo usuário!");
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void readNextBlock(ByteBuffer buffer) {
+            long offset = stopped.get() ? size : nextOffset.getAndAdd(bufferSize);
+            if (offset >= size) {
+                finished.countDown(); // slot sem trabalho restante
+                return;
+            }
+            buffer.clear();
+            buffer.limit((int) Math.min(bufferSize, size - offset));
+            read(buffer, offset, offset);
+        }
+
+        private void read(ByteBuffer buffer, long blockOffset, long position) {
+            reads.incrementAndGet();
+            long submittedAt = System.nanoTime();
+            source.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer bytesRead, ByteBuffer attachment) {
+                    context.profiler().readLatency().record(System.nanoTime() - submittedAt);
+                    if (bytesRead < 0) {
+                        // FONTE ENCOLHEU - escreve o que foi lido e encerra o slot
+                        stopped.set(true);
+                        attachment.flip();
+                        write(attachment, blockOffset, blockOffset);
+                        return;
+                    }
+                    if (attachment.hasRemaining() && !stopped.get()) {
+                        read(attachment, blockOffset, position + bytesRead); // leitura parcial
+                        return;
+                    }
+                    attachment.flip();
+                    write(attachment, blockOffset, blockOffset);
+                }
+
+                @Override
+                public void failed(Throwable error, ByteBuffer attachment) {
+                    fail(error);
+                }
+            });
+        }
+
+        private void write(ByteBuffer buffer, long blockOffset, long position) {
+            if (!buffer.hasRemaining()) {
+                readNextBlock(buffer);
+                return;
+            }
+            writes.incrementAndGet();
+            long submittedAt = System.nanoTime();
+            target.write(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer bytesWritten, ByteBuffer attachment) {
+                    context.profiler().writeLatency().record(System.nanoTime() - submittedAt);
+                    copied.addAndGet(bytesWritten);
+                    context.progress().advance(bytesWritten);
+                    if (attachment.hasRemaining()) {
+                        write(attachment, blockOffset, position + bytesWritten); // escrita parcial
+                        return;
+                    }
+                    readNextBlock(attachment);
+                }
+
+                @Override
+                public void failed(Throwable error, ByteBuffer attachment) {
+                    fail(error);
+                }
+            });
+        }
+
+        private void fail(Throwable error) {
+            failure.compareAndSet(null, error);
+            stopped.set(true);
+            finished.countDown();
+        }
+    }
+}
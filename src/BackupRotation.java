@@ -0,0 +1,176 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * CLASSE: BackupRotation
+ * DESCRIÇÃO: Gerações rotativas de backup (--backup-generations=N). O backup
+ * recém-criado (destino + BACKUP_EXTENSION) passa a ser a geração 1; as
+ * anteriores sobem um número e a geração N + 1 é apagada.
+ *
+ * NOMES: destino.backup.K (sem compressão) ou destino.backup.K.z (fluxo
+ * zlib do Deflater, --backup-compression=1..9).
+ *
+ * A compressão da geração 1 roda em uma thread de baixa prioridade, então a
+ * cópia nunca espera por ela. A thread não é daemon, então um fim normal de
+ * main aguarda a compressão; quem encerra com System.exit deve chamar
+ * awaitCompression() antes. O .z é gravado em um temporário (.z.tmp) e o
+ * arquivo sem compressão só é apagado depois que o .z está completo, então
+ * uma interrupção nunca perde a geração; temporários deixados por uma
+ * execução interrompida são removidos no início da rotação seguinte.
+ */
+final class BackupRotation {
+
+    static final String COMPRESSED_EXTENSION = ".z";
+    private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+    private static volatile Thread compressor;
+
+    private BackupRotation() {
+    }
+
+    /**
+     * GIRA AS GERAÇÕES E INICIA A COMPRESSÃO DA MAIS RECENTE
+     *
+     * @param backupFile  - backup recém-criado, que vira a geração 1
+     * @param generations - quantidade de gerações mantidas
+     * @param level       - nível do Deflater (0 = sem compressão)
+     * @param sync        - recebe o diretório dos renames para o fsync em lote
+     */
+    static void rotate(String backupFile, int generations, int level, FileSync sync) throws IOException {
+        deletePartialCompressions(backupFile);
+
+        // A GERAÇÃO MAIS ANTIGA SAI; AS DEMAIS SOBEM UM NÚMERO
+        deleteGeneration(backupFile, generations);
+        for (int generation = generations - 1; generation >= 1; generation--) {
+            moveGeneration(backupFile, generation, generation + 1);
+        }
+
+        Path newest = Paths.get(generationName(backupFile, 1));
+        Files.move(Paths.get(backupFile), newest, StandardCopyOption.REPLACE_EXISTING);
+        sync.addDirectoryOf(newest, true); // mesmo diretório de todas as gerações
+        ConsoleLog.info("   Gerações de backup: " + generations + " mantidas, compressão "
+                + (level > 0 ? "nível " + level + " em segundo plano" : "desativada"));
+
+        if (level > 0) {
+            Thread thread = new Thread(() -> compress(newest, level), "backup-compressor");
+            thread.setPriority(Thread.MIN_PRIORITY);
+            compressor = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * AGUARDA A COMPRESSÃO EM ANDAMENTO - chamar antes de System.exit, que
+     * mataria a thread no meio do arquivo
+     */
+    static void awaitCompression() {
+        Thread thread = compressor;
+        if (thread == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * REMOVE .z.tmp DE COMPRESSÕES INTERROMPIDAS (destino.backup.K.z.tmp)
+     */
+    private static void deletePartialCompressions(String backupFile) throws IOException {
+        Path backup = Paths.get(backupFile).toAbsolutePath();
+        String prefix = backup.getFileName() + ".";
+        String suffix = COMPRESSED_EXTENSION + StagedDestination.TEMP_EXTENSION;
+        DirectoryStream.Filter<Path> partial = path -> {
+            String name = path.getFileName().toString();
+            return name.startsWith(prefix) && name.endsWith(suffix);
+        };
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(backup.getParent(), partial)) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+                ConsoleLog.detail("   Compressão interrompida removida: " + path.getFileName());
+            }
+        }
+    }
+
+    /**
+     * COMPRIME A GERAÇÃO PARA .z E REMOVE O ORIGINAL - roda na thread de fundo
+     */
+    private static void compress(Path generation, int level) {
+        Path compressed = Paths.get(generation + COMPRESSED_EXTENSION);
+        Path partial = Paths.get(compressed + StagedDestination.TEMP_EXTENSION);
+        long start = System.currentTimeMillis();
+        Deflater deflater = new Deflater(level);
+
+        try {
+            try (InputStream in = new FileInputStream(generation.toFile());
+                    OutputStream out = new DeflaterOutputStream(new FileOutputStream(partial.toFile()), deflater,
+                            COMPRESSION_BUFFER_SIZE)) {
+                byte[] buffer = new byte[COMPRESSION_BUFFER_SIZE];
+                int bytesRead;
+                while ((bytesRead = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, bytesRead);
+                }
+            }
+            Files.move(partial, compressed, StandardCopyOption.REPLACE_EXISTING);
+            Files.delete(generation);
+
+            long originalSize = deflater.getBytesRead();
+            long compressedSize = deflater.getBytesWritten();
+            double ratio = (originalSize > 0) ? 100.0 * compressedSize / originalSize : 100;
+            ConsoleLog.printf(LogLevel.NORMAL, "   Backup comprimido: %s (%,d -> %,d bytes, %.1f%%, %d ms)",
+                    compressed.getFileName(), originalSize, compressedSize, ratio,
+                    System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            // A GERAÇÃO SEM COMPRESSÃO CONTINUA VÁLIDA
+            ConsoleLog.error("   AVISO: Compressão do backup falhou: " + e.getMessage());
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException ignored) {
+                // o temporário incompleto é sobrescrito na próxima compressão
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String generationName(String backupFile, int generation) {
+        return backupFile + "." + generation;
+    }
+
+    /**
+     * RENOMEIA A GERAÇÃO from PARA to, NA FORMA EM QUE ESTIVER
+     */
+    private static void moveGeneration(String backupFile, int from, int to) throws IOException {
+        for (String suffix : new String[] {"", COMPRESSED_EXTENSION}) {
+            File source = new File(generationName(backupFile, from) + suffix);
+            if (source.exists()) {
+                Files.move(source.toPath(), Paths.get(generationName(backupFile, to) + suffix),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+    }
+
+    private static void deleteGeneration(String backupFile, int generation) throws IOException {
+        Files.deleteIfExists(Paths.get(generationName(backupFile, generation)));
+        Files.deleteIfExists(Paths.get(generationName(backupFile, generation) + COMPRESSED_EXTENSION));
+    }
+}
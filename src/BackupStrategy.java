@@ -0,0 +1,47 @@
+/**
+ * ENUM: BackupStrategy
+ * DESCRIÇÃO: Como o destino existente é preservado antes de ser
+ * sobrescrito, selecionado com --backup=NOME. O backup sempre fica em
+ * destino + BACKUP_EXTENSION.
+ */
+enum BackupStrategy {
+
+    LINK("link", "hard link do destino antigo, com --atomic=true (sem I/O de dados)"),
+    COPY("copy", "clone reflink (FICLONE) do destino antigo, ou cópia byte-a-byte");
+
+    private final String argumentName;
+    private final String description;
+
+    BackupStrategy(String argumentName, String description) {
+        this.argumentName = argumentName;
+        this.description = description;
+    }
+
+    /**
+     * NOME USADO NA LINHA DE COMANDO (ex: --backup=link)
+     */
+    String argumentName() {
+        return argumentName;
+    }
+
+    /**
+     * DESCRIÇÃO EXIBIDA NA AJUDA DE --backup
+     */
+    String description() {
+        return description;
+    }
+
+    /**
+     * CONVERTE O ARGUMENTO DA LINHA DE COMANDO NA ESTRATÉGIA CORRESPONDENTE
+     *
+     * @throws IllegalArgumentException - se o nome não corresponder a nenhuma estratégia
+     */
+    static BackupStrategy fromArgument(String name) {
+        for (BackupStrategy strategy : values()) {
+            if (strategy.argumentName.equalsIgnoreCase(name)) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Estratégia de backup desconhecida: " + name);
+    }
+}
@@ -0,0 +1,60 @@
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * CLASSE: BufferedCopyEngine
+ * DESCRIÇÃO: Motor de cópia em blocos. Move até bufferSize bytes por chamada
+ * de read/write, reduzindo o número de chamadas de sistema de uma por byte
+ * para uma por bloco.
+ */
+class BufferedCopyEngine implements CopyEngine {
+
+    private final int bufferSize;
+
+    BufferedCopyEngine(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "buffered (buffer de " + CopyOptions.formatSize(bufferSize) + ")";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        FileInputStream inStream = context.inStream();
+        FileOutputStream outStream = context.outStream();
+        CopyProgress progress = context.progress();
+        LatencyHistogram readLatency = context.profiler().readLatency();
+        LatencyHistogram writeLatency = context.profiler().writeLatency();
+        byte[] buffer = new byte[bufferSize];
+        long totalBytesRead = 0;
+        int bytesRead;
+
+        // LOOP EM BLOCOS - read() pode retornar menos que o buffer; só o que
+        // foi efetivamente lido é escrito no destino
+        while (true) {
+            long readStart = System.nanoTime();
+            bytesRead = inStream.read(buffer);
+            readLatency.record(System.nanoTime() - readStart);
+            if (bytesRead == -1) {
+                break;
+            }
+
+            long writeStart = System.nanoTime();
+            outStream.write(buffer, 0, bytesRead);
+            writeLatency.record(System.nanoTime() - writeStart);
+            context.checksum().update(buffer, 0, bytesRead);
+
+            totalBytesRead += bytesRead;
+            progress.advance(bytesRead);
+
+            if (context.checkInterrupted()) {
+                break;
+            }
+        }
+
+        return totalBytesRead;
+    }
+}
@@ -0,0 +1,60 @@
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * CLASSE: ByteCopyEngine
+ * DESCRIÇÃO: Motor de cópia original do ByteStreamExample - lê e escreve um
+ * byte por vez. Mantido como referência para comparação com os demais modos.
+ */
+class ByteCopyEngine implements CopyEngine {
+
+    @Override
+    public String describe() {
+        return "byte (um byte por chamada de read/write)";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        FileInputStream inStream = context.inStream();
+        FileOutputStream outStream = context.outStream();
+        CopyProgress progress = context.progress();
+        long totalBytesRead = 0;
+        int content;
+
+        /**
+         * LOOP PRINCIPAL DE ALTA PRECISÃO - BYTE A BYTE
+         * CARACTERÍSTICAS TÉCNICAS:
+         * - Precisão absoluta: cada byte é processado individualmente
+         * - Baixo consumo de memória: máximo 1 byte na memória por vez
+         * - Controle granular: possível interromper a qualquer momento
+         * - Ideal para: arquivos pequenos, operações críticas, debugging
+         * 
+         * CICLO DE PROCESSAMENTO:
+         * 1. read() → lê um byte (0-255) ou retorna -1 (EOF)
+         * 2. Conversão int → byte mantendo integridade dos dados
+         * 3. write() → escreve no destino garantindo ordem sequencial
+         * 4. Monitoramento → atualiza estatísticas em tempo real
+         */
+        while ((content = inStream.read()) != -1) {
+            // CONVERSÃO SEGURA DE INT PARA BYTE
+            // Preserva apenas os 8 bits menos significativos
+            byte byteToWrite = (byte) content;
+
+            // ESCRITA NO ARQUIVO DESTINO
+            // Operação atômica - cada byte é escrito imediatamente
+            outStream.write(byteToWrite);
+
+            // ATUALIZAÇÃO DE ESTATÍSTICAS E MONITORAMENTO
+            totalBytesRead++;
+            progress.advance(1);
+
+            // VERIFICAÇÃO DE INTERRUPÇÃO (para sistemas interativos)
+            if (context.checkInterrupted()) {
+                break;
+            }
+        }
+
+        return totalBytesRead;
+    }
+}
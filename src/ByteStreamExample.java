@@ -1,6 +1,7 @@
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.util.Date;
 import java.io.File;
 
@@ -13,6 +14,7 @@ import java.io.File;
  * 
  * PRINCIPAIS CARACTERÍSTICAS AVANÇADAS:
  * - Leitura e escrita byte-a-byte com monitoramento em tempo real
+ * - Motores de cópia selecionáveis por --mode (ver CopyMode) para comparação
  * - Sistema abrangente de estatísticas e métricas de performance
  * - Tratamento robusto de exceções com múltiplos níveis de recuperação
  * - Validações pré-operacionais de arquivos e permissões
@@ -22,179 +24,412 @@ import java.io.File;
 class ByteStreamExample {
 
     // CONSTANTES PARA CONFIGURAÇÃO
-    private static final int PROGRESS_UPDATE_INTERVAL = 100; // Bytes entre atualizações de progresso
-    private static final int LARGE_FILE_THRESHOLD = 1024 * 1024; // 1MB threshold para arquivos grandes
+    static final int LARGE_FILE_THRESHOLD = 1024 * 1024; // 1MB threshold para arquivos grandes
     private static final String BACKUP_EXTENSION = ".backup";
+    private static final String SEPARATOR_LINE = generateLine(60); // montada uma única vez
 
     /**
      * MÉTODO PRINCIPAL - Coordena toda a operação de cópia de arquivo
      * 
-     * @param ar - Array de argumentos da linha de comando (pode conter caminhos de
-     *           arquivos)
+     * @param ar - Array de argumentos da linha de comando (caminhos de arquivos
+     *           e opções --chave=valor, ver CopyOptions)
      * @throws IOException - Propaga exceções críticas de I/O para o runtime
      */
     public static void main(String[] ar) throws IOException {
-        // CONFIGURAÇÃO DOS CAMINHOS - permite override por argumentos
-        String sourceFile = (ar.length > 0) ? ar[0] : "src/source.txt";
-        String destFile = (ar.length > 1) ? ar[1] : "src/dest.txt";
+        // CONFIGURAÇÃO DOS CAMINHOS E DO MODO - permite override por argumentos
+        CopyOptions options;
+        try {
+            options = CopyOptions.fromArguments(ar);
+        } catch (IllegalArgumentException e) {
+            ConsoleLog.error(" ERRO: " + e.getMessage());
+            ConsoleLog.error(CopyOptions.usage());
+            System.exit(1);
+            return;
+        }
+        ConsoleLog.setLevel(options.logLevel());
+
+        // DESTINO JÁ IDÊNTICO À FONTE - backup e cópia dispensados
+        if (options.skipIdentical() && performIdenticalDestinationCheck(options)) {
+            ConsoleLog.info("🎉 OPERAÇÃO FINALIZADA COM SUCESSO TOTAL! (destino já atualizado)");
+            return;
+        }
 
         // EXECUÇÃO DA OPERAÇÃO PRINCIPAL
-        boolean success = performByteCopyOperation(sourceFile, destFile);
+        CopyChecksum checksum = new CopyChecksum(options.checksumAlgorithm());
+        PhaseProfiler profiler = new PhaseProfiler();
+        boolean success = performByteCopyOperation(options, checksum, profiler);
 
         // VERIFICAÇÃO FINAL DO RESULTADO
         if (success) {
-            System.out.println("🎉 OPERAÇÃO FINALIZADA COM SUCESSO TOTAL!");
-            performPostCopyVerification(sourceFile, destFile);
+            ConsoleLog.info("🎉 OPERAÇÃO FINALIZADA COM SUCESSO TOTAL!");
+            long verifyStart = profiler.start();
+            boolean verified = performPostCopyVerification(options, checksum);
+            profiler.stop(PhaseProfiler.Phase.VERIFY, verifyStart);
+            profiler.printPhases();
+            if (!verified) {
+                BackupRotation.awaitCompression(); // System.exit mataria a compressão no meio
+                System.exit(1);
+            }
         } else {
-            System.out.println("❌ OPERAÇÃO FINALIZADA COM FALHAS!");
+            ConsoleLog.warn("❌ OPERAÇÃO FINALIZADA COM FALHAS!");
+            profiler.printPhases();
+            BackupRotation.awaitCompression();
             System.exit(1);
         }
     }
 
     /**
-     * REALIZA A OPERAÇÃO DE CÓPIA BYTE-A-BYTE COM TODOS OS CONTROLES
+     * REALIZA A OPERAÇÃO DE CÓPIA COM TODOS OS CONTROLES
      * 
-     * @param sourceFile - Caminho do arquivo fonte
-     * @param destFile   - Caminho do arquivo destino
+     * @param options  - Caminhos dos arquivos e modo de cópia selecionado
+     * @param checksum - Checksum da fonte, calculado durante a cópia
+     * @param profiler - Tempos das fases e latências por bloco
      * @return boolean - true se a operação foi bem sucedida
      */
-    private static boolean performByteCopyOperation(String sourceFile, String destFile) {
+    private static boolean performByteCopyOperation(CopyOptions options, CopyChecksum checksum,
+            PhaseProfiler profiler) {
+        String sourceFile = options.sourceFile();
+        StagedDestination destination = StagedDestination.forOptions(options);
+        FileSync fileSync = new FileSync(options.durability());
+        String destFile = destination.writeFile();
+
         // DECLARAÇÃO DAS STREAMS - inicializadas como null para segurança no finally
         FileInputStream inStream = null;
         FileOutputStream outStream = null;
+        CopyHints hints = null;
 
         // SISTEMA AVANÇADO DE MONITORAMENTO E ESTATÍSTICAS
-        long startTime = System.currentTimeMillis();
-        long operationStartTime = startTime;
-        int totalBytesRead = 0;
-        int lastProgressUpdate = 0;
+        long startTime = System.currentTimeMillis(); // horário de parede, só para exibição
+        CopyProgress progress = new CopyProgress(options.progressInterval());
         boolean operationSuccessful = false;
+        long expectedBytes = -1;
+        long copiedBytes = -1;
 
         try {
             // FASE 1: PRÉ-VALIDAÇÕES E INICIALIZAÇÃO
             printOperationHeader("FASE 1: PRÉ-VALIDAÇÕES E INICIALIZAÇÃO");
 
-            if (!performPreOperationValidations(sourceFile, destFile)) {
+            long validationStart = profiler.start();
+            boolean validated = performPreOperationValidations(options, destination, fileSync, profiler);
+            profiler.stop(PhaseProfiler.Phase.VALIDATION, validationStart);
+            if (!validated) {
                 return false;
             }
 
             // FASE 2: INICIALIZAÇÃO DAS STREAMS
             printOperationHeader("FASE 2: INICIALIZAÇÃO DAS STREAMS");
 
-            long initStartTime = System.currentTimeMillis();
+            long initStart = profiler.start();
             inStream = new FileInputStream(sourceFile);
-            outStream = new FileOutputStream(destFile);
-            long initTime = System.currentTimeMillis() - initStartTime;
-
-            System.out.println(" Streams inicializadas com sucesso!");
-            System.out.println("   Tempo de inicialização: " + initTime + " ms");
-            System.out.println("   Tamanho do arquivo fonte: " + new File(sourceFile).length() + " bytes");
-
-            // FASE 3: OPERAÇÃO DE CÓPIA BYTE-A-BYTE
-            printOperationHeader("FASE 3: OPERAÇÃO DE CÓPIA BYTE-A-BYTE");
-
-            System.out.println("Iniciando processo de cópia byte-a-byte...");
-            System.out.println("   Intervalo de progresso: a cada " + PROGRESS_UPDATE_INTERVAL + " bytes");
-
-            int content;
-            long copyStartTime = System.currentTimeMillis();
-
-            /**
-             * LOOP PRINCIPAL DE ALTA PRECISÃO - BYTE A BYTE
-             * CARACTERÍSTICAS TÉCNICAS:
-             * - Precisão absoluta: cada byte é processado individualmente
-             * - Baixo consumo de memória: máximo 1 byte na memória por vez
-             * - Controle granular: possível interromper a qualquer momento
-             * - Ideal para: arquivos pequenos, operações críticas, debugging
-             * 
-             * CICLO DE PROCESSAMENTO:
-             * 1. read() → lê um byte (0-255) ou retorna -1 (EOF)
-             * 2. Conversão int → byte mantendo integridade dos dados
-             * 3. write() → escreve no destino garantindo ordem sequencial
-             * 4. Monitoramento → atualiza estatísticas em tempo real
-             */
-            while ((content = inStream.read()) != -1) {
-                // CONVERSÃO SEGURA DE INT PARA BYTE
-                // Preserva apenas os 8 bits menos significativos
-                byte byteToWrite = (byte) content;
-
-                // ESCRITA NO ARQUIVO DESTINO
-                // Operação atômica - cada byte é escrito imediatamente
-                outStream.write(byteToWrite);
-
-                // ATUALIZAÇÃO DE ESTATÍSTICAS E MONITORAMENTO
-                totalBytesRead++;
-
-                // SISTEMA DE PROGRESSO COM FEEDBACK VISUAL
-                if (totalBytesRead - lastProgressUpdate >= PROGRESS_UPDATE_INTERVAL) {
-                    printProgressUpdate(totalBytesRead, startTime);
-                    lastProgressUpdate = totalBytesRead;
-                }
-
-                // VERIFICAÇÃO DE INTERRUPÇÃO (para sistemas interativos)
-                if (Thread.currentThread().isInterrupted()) {
-                    System.out.println("⚠ Operação interrompida pelo usuário!");
-                    break;
-                }
+            destFile = destination.createWriteFile();
+            outStream = openDestination(options, destFile);
+            long initNanos = profiler.stop(PhaseProfiler.Phase.INIT, initStart);
+
+            ConsoleLog.info(" Streams inicializadas com sucesso!");
+            ConsoleLog.printf(LogLevel.VERBOSE, "   Tempo de inicialização: %.3f ms", initNanos / 1_000_000.0);
+            ConsoleLog.detail("   Tamanho do arquivo fonte: " + new File(sourceFile).length() + " bytes");
+
+            // FASE 3: OPERAÇÃO DE CÓPIA NO MODO SELECIONADO
+            CopyContext context = new CopyContext(options, destFile, inStream, outStream, progress, checksum,
+                    profiler);
+            CopyMode mode = selectCopyMode(context);
+            if (options.kernelHints()) {
+                hints = CopyHints.apply(sourceFile, destFile, new File(sourceFile).length(), mode == CopyMode.SPARSE);
+                progress.setListener(hints::onProgress);
+            }
+            CopyEngine engine = createCopyEngine(mode, options);
+            printOperationHeader("FASE 3: OPERAÇÃO DE " + mode.description());
+
+            ConsoleLog.info("Iniciando processo de cópia...");
+            ConsoleLog.info("   Modo: " + engine.describe());
+            ConsoleLog.detail("   Intervalo de progresso: " + (options.progressInterval() > 0
+                    ? "a cada " + options.progressInterval() + " ms" : "desativado"));
+
+            long copyStart = profiler.start();
+            expectedBytes = new File(sourceFile).length();
+            progress.start(expectedBytes);
+            long totalBytesRead = engine.copy(context);
+            copiedBytes = totalBytesRead;
+            progress.stop();
+            profiler.stop(PhaseProfiler.Phase.COPY, copyStart);
+            // SÓ --verify=checksum USA O CHECKSUM DA FONTE - nos outros modos uma
+            // passagem extra sobre a fonte seria leitura desperdiçada
+            checksum.ensureSourceDigest(sourceFile, totalBytesRead, options.verifyMode() == VerifyMode.CHECKSUM);
+            if (hints != null) {
+                hints.addReportNotes(context);
             }
-
-            long copyTime = System.currentTimeMillis() - copyStartTime;
 
             // FASE 4: ANÁLISE DE PERFORMANCE E RELATÓRIO
             printOperationHeader("FASE 4: ANÁLISE DE PERFORMANCE E RELATÓRIO");
 
             operationSuccessful = true;
-            generatePerformanceReport(startTime, totalBytesRead, operationStartTime, initTime, copyTime);
+            generatePerformanceReport(startTime, totalBytesRead, engine, context, checksum, profiler);
 
         } catch (IOException e) {
             // SISTEMA AVANÇADO DE TRATAMENTO DE ERROS
+            progress.stop();
             printOperationHeader("FASE DE TRATAMENTO DE ERROS");
-            handleCopyOperationError(e, sourceFile, destFile, totalBytesRead);
+            handleCopyOperationError(e, sourceFile, destFile, progress.totalBytes());
             operationSuccessful = false;
 
         } finally {
             // FASE 5: GERENCIAMENTO DE RECURSOS E LIMPEZA
             printOperationHeader("FASE 5: GERENCIAMENTO DE RECURSOS");
+            long cleanupStart = profiler.start();
+            progress.stop();
             performResourceCleanup(inStream, outStream);
+            if (hints != null) {
+                hints.close();
+            }
+            operationSuccessful = finishDestination(options, destination, fileSync, operationSuccessful,
+                    copiedBytes, expectedBytes);
+            profiler.stop(PhaseProfiler.Phase.CLEANUP, cleanupStart);
         }
 
         return operationSuccessful;
     }
 
+    /**
+     * DURABILIDADE (--durability) E TROCA ATÔMICA DO DESTINO (--atomic) APÓS O
+     * FECHAMENTO DAS STREAMS
+     * Uma cópia interrompida ou incompleta nunca é confirmada: o temporário é
+     * descartado e o destino original fica intacto.
+     *
+     * @param copiedBytes   - bytes que o motor informou ter copiado
+     * @param expectedBytes - tamanho da fonte no início da cópia
+     * @return boolean - false se a cópia falhou ou a troca não foi possível
+     */
+    private static boolean finishDestination(CopyOptions options, StagedDestination destination,
+            FileSync sync, boolean copySucceeded, long copiedBytes, long expectedBytes) {
+        if (copySucceeded) {
+            String incomplete = incompleteCopyReason(options, destination, copiedBytes, expectedBytes);
+            if (incomplete != null) {
+                ConsoleLog.error("    ERRO: cópia incompleta - " + incomplete);
+                copySucceeded = false;
+            }
+        }
+        if (!copySucceeded) {
+            if (destination.staged()) {
+                destination.discard();
+                ConsoleLog.info("    Temporário descartado - destino original mantido");
+            }
+            return false;
+        }
+        try {
+            destination.commit(sync);
+            if (destination.staged()) {
+                ConsoleLog.info("    Destino substituído atomicamente pelo temporário");
+            }
+            ConsoleLog.info("    Durabilidade: " + sync.summary());
+            return true;
+        } catch (IOException e) {
+            ConsoleLog.error("    ERRO ao finalizar o destino: " + e.getMessage());
+            destination.discard();
+            return false;
+        }
+    }
+
+    /**
+     * MOTIVO PELO QUAL A CÓPIA NÃO PODE SER CONFIRMADA
+     * Os motores param no meio quando a thread é interrompida e devolvem
+     * apenas o que já copiaram; o modo resumable conta só os bytes desta
+     * execução, então nele vale o journal, que só é apagado ao final.
+     *
+     * @return String - null se a cópia está completa
+     */
+    private static String incompleteCopyReason(CopyOptions options, StagedDestination destination,
+            long copiedBytes, long expectedBytes) {
+        if (Thread.currentThread().isInterrupted()) {
+            return "operação interrompida";
+        }
+        if (options.mode() == CopyMode.RESUMABLE) {
+            return CopyJournal.journalFile(destination.writeFile()).exists()
+                    ? "journal de retomada ainda pendente" : null;
+        }
+        if (copiedBytes != expectedBytes) {
+            return String.format("%,d de %,d bytes copiados", copiedBytes, expectedBytes);
+        }
+        return null;
+    }
+
+    /**
+     * VERIFICA SE O DESTINO EXISTENTE JÁ É IDÊNTICO À FONTE (--skip-identical)
+     * Tamanho diferente descarta na hora; com o mesmo tamanho o conteúdo é
+     * comparado em janelas mapeadas (MismatchVerifier), que para na primeira
+     * diferença. A data de modificação não basta sozinha: as cópias não a
+     * preservam, e arquivos iguais costumam ter datas diferentes.
+     *
+     * @return boolean - true se backup e cópia podem ser dispensados
+     */
+    private static boolean performIdenticalDestinationCheck(CopyOptions options) {
+        File source = new File(options.sourceFile());
+        File dest = new File(options.destFile());
+        if (!source.isFile() || !dest.isFile() || source.length() != dest.length()
+                || CopyJournal.journalFile(options.destFile()).exists()) {
+            return false;
+        }
+
+        printOperationHeader("FASE 0: VERIFICAÇÃO DE DESTINO ATUALIZADO");
+        ConsoleLog.info(" Destino existe com o mesmo tamanho da fonte (" + source.length() + " bytes)");
+        ConsoleLog.info("   Data de modificação " + (source.lastModified() == dest.lastModified()
+                ? "idêntica" : "diferente") + " - comparando conteúdo...");
+
+        long compareStart = System.nanoTime();
+        MismatchVerifier.Result result;
+        try {
+            result = MismatchVerifier.verify(options.sourceFile(), options.destFile(), options.mmapWindow(),
+                    options.threads());
+        } catch (IOException e) {
+            ConsoleLog.warn(" AVISO: Comparação falhou (" + e.getMessage() + "), copiando normalmente");
+            return false;
+        }
+        double compareMillis = (System.nanoTime() - compareStart) / 1_000_000.0;
+
+        if (!result.matches()) {
+            ConsoleLog.printf(LogLevel.NORMAL, "   Conteúdo difere no offset %d (%.1f ms) - cópia necessária",
+                    result.firstDifference(), compareMillis);
+            return false;
+        }
+
+        ConsoleLog.info(" === RELATÓRIO ===");
+        ConsoleLog.info("   Destino idêntico à fonte: backup e cópia dispensados");
+        ConsoleLog.printf(LogLevel.NORMAL, "   Comparação: %,d bytes em %.1f ms", result.comparedBytes(),
+                compareMillis);
+        return true;
+    }
+
+    /**
+     * DEFINE O MODO EFETIVO DE CÓPIA
+     * Com --mode=auto (padrão) a escolha é feita pelo CopyStrategySelector e a
+     * decisão, com sua justificativa, é registrada para o relatório da FASE 4.
+     */
+    private static CopyMode selectCopyMode(CopyContext context) {
+        CopyOptions options = context.options();
+        if (options.mode() != CopyMode.AUTO) {
+            context.addReportNote("Estratégia: " + options.mode().argumentName() + " (escolhida via --mode)");
+            return options.mode();
+        }
+
+        CopyStrategySelector.Decision decision = CopyStrategySelector.select(
+                context.sourceFile(), context.destFile(), options.threads());
+
+        ConsoleLog.info(" Estratégia automática: " + decision.mode().argumentName());
+        ConsoleLog.info("   Motivo: " + decision.reason());
+
+        context.addReportNote("Estratégia automática: " + decision.mode().argumentName());
+        context.addReportNote("- Motivo: " + decision.reason());
+        context.addReportNote("- Sistemas de arquivos: fonte " + decision.sourceFilesystem()
+                + ", destino " + decision.destFilesystem()
+                + (decision.sameFilesystem() ? " (mesmo dispositivo)" : " (dispositivos diferentes)"));
+        return decision.mode();
+    }
+
+    /**
+     * SELECIONA O MOTOR DE CÓPIA CORRESPONDENTE AO MODO
+     */
+    private static CopyEngine createCopyEngine(CopyMode mode, CopyOptions options) {
+        switch (mode) {
+            case BUFFERED:
+                return new BufferedCopyEngine(options.bufferSize());
+            case TRANSFER:
+                return new TransferCopyEngine();
+            case MMAP:
+                return new MmapCopyEngine(options.mmapWindow(), options.mmapDestination());
+            case PARALLEL:
+                return new ParallelCopyEngine(options.threads(), options.chunkSize(), options.bufferSize());
+            case KERNEL:
+                return new KernelCopyEngine();
+            case IO_URING:
+                return new IoUringCopyEngine(options.queueDepth(), options.ioBuffers(), options.bufferSize());
+            case PIPELINE:
+                return new PipelinedCopyEngine(options.poolSize(), options.bufferSize());
+            case ASYNC:
+                return new AsyncCopyEngine(options.readAhead(), options.bufferSize());
+            case DIRECT:
+                return new DirectCopyEngine(options.bufferSize());
+            case SPARSE:
+                return new SparseCopyEngine(options.bufferSize());
+            case RESUMABLE:
+                return new ResumableCopyEngine(options.bufferSize());
+            case BYTE:
+                return new ByteCopyEngine();
+            default:
+                throw new IllegalArgumentException("Modo sem motor de cópia: " + mode);
+        }
+    }
+
+    /**
+     * ABRE A STREAM DE DESTINO
+     * Em --mode=resumable o destino parcial não pode ser truncado: a stream é
+     * criada sobre o descritor de um RandomAccessFile, que abre sem O_TRUNC.
+     */
+    private static FileOutputStream openDestination(CopyOptions options, String destFile) throws IOException {
+        if (options.mode() != CopyMode.RESUMABLE) {
+            return new FileOutputStream(destFile);
+        }
+        RandomAccessFile dest = new RandomAccessFile(destFile, "rw");
+        return new FileOutputStream(dest.getFD()); // fechar a stream fecha o descritor compartilhado
+    }
+
     /**
      * REALIZA VALIDAÇÕES PRÉ-OPERACIONAIS COMPLETAS
      */
-    private static boolean performPreOperationValidations(String sourceFile, String destFile) {
-        System.out.println(" Realizando validações pré-operacionais...");
+    private static boolean performPreOperationValidations(CopyOptions options, StagedDestination destination,
+            FileSync fileSync, PhaseProfiler profiler) {
+        ConsoleLog.info(" Realizando validações pré-operacionais...");
+
+        String sourceFile = options.sourceFile();
+        String destFile = options.destFile();
 
         File source = new File(sourceFile);
         File dest = new File(destFile);
 
         // VALIDAÇÃO DO ARQUIVO FONTE
         if (!source.exists()) {
-            System.err.println(" ERRO: Arquivo fonte não encontrado: " + sourceFile);
-            System.err.println("   Caminho absoluto: " + source.getAbsolutePath());
+            ConsoleLog.error(" ERRO: Arquivo fonte não encontrado: " + sourceFile);
+            ConsoleLog.error("   Caminho absoluto: " + source.getAbsolutePath());
             return false;
         }
 
         if (!source.canRead()) {
-            System.err.println(" ERRO: Sem permissão de leitura no arquivo fonte: " + sourceFile);
+            ConsoleLog.error(" ERRO: Sem permissão de leitura no arquivo fonte: " + sourceFile);
             return false;
         }
 
         if (source.length() == 0) {
-            System.out.println(" AVISO: Arquivo fonte está vazio!");
+            ConsoleLog.warn(" AVISO: Arquivo fonte está vazio!");
         }
 
         // VALIDAÇÃO DO ARQUIVO DESTINO
-        if (dest.exists()) {
-            System.out.println(" AVISO: Arquivo destino já existe e será sobrescrito!");
+        if (dest.exists() && options.mode() == CopyMode.RESUMABLE
+                && CopyJournal.journalFile(destFile).exists()) {
+            // DESTINO PARCIAL DE UMA EXECUÇÃO ANTERIOR - será retomado, não sobrescrito
+            ConsoleLog.warn(" AVISO: Cópia parcial encontrada, será retomada pelo journal "
+                    + CopyJournal.journalFile(destFile).getName());
+        } else if (dest.exists()) {
+            ConsoleLog.warn(" AVISO: Arquivo destino já existe e será sobrescrito!");
+            String caveat = destination.renameCaveat();
+            if (caveat != null) {
+                ConsoleLog.warn(" AVISO: --atomic=true troca o destino por um arquivo novo - " + caveat);
+            }
 
             // CRIA BACKUP AUTOMÁTICO PARA ARQUIVOS EXISTENTES
+            long backupStart = profiler.start();
             try {
-                createBackup(destFile);
+                createBackup(destFile, options.backupStrategy(), destination, fileSync);
+                if (options.backupGenerations() > 0) {
+                    BackupRotation.rotate(destFile + BACKUP_EXTENSION, options.backupGenerations(),
+                            options.backupCompression(), fileSync);
+                }
+                if (!destination.staged()) {
+                    // O DESTINO VAI SER REESCRITO NO LUGAR - o backup precisa estar em disco antes;
+                    // com troca atômica o fsync do diretório fica para o commit, junto com o rename
+                    fileSync.flush();
+                }
             } catch (IOException e) {
-                System.err.println(" AVISO: Não foi possível criar backup: " + e.getMessage());
+                ConsoleLog.error(" AVISO: Não foi possível criar backup: " + e.getMessage());
+            } finally {
+                profiler.stop(PhaseProfiler.Phase.BACKUP, backupStart);
             }
         }
 
@@ -203,29 +438,61 @@ class ByteStreamExample {
         long availableSpace = dest.getParentFile().getUsableSpace();
 
         if (requiredSpace > availableSpace) {
-            System.err.println(" ERRO: Espaço em disco insuficiente!");
-            System.err.println("   Espaço necessário: " + requiredSpace + " bytes");
-            System.err.println("   Espaço disponível: " + availableSpace + " bytes");
+            ConsoleLog.error(" ERRO: Espaço em disco insuficiente!");
+            ConsoleLog.error("   Espaço necessário: " + requiredSpace + " bytes");
+            ConsoleLog.error("   Espaço disponível: " + availableSpace + " bytes");
             return false;
         }
 
         // VERIFICAÇÃO DE PERFORMANCE PARA ARQUIVOS GRANDES
         if (source.length() > LARGE_FILE_THRESHOLD) {
-            System.out.println(" AVISO: Arquivo grande detectado (" + source.length() + " bytes)");
-            System.out.println("   Recomendação: Considere usar buffered streams para melhor performance");
+            ConsoleLog.warn(" AVISO: Arquivo grande detectado (" + source.length() + " bytes)");
         }
 
-        System.out.println(" Todas as validações pré-operacionais passaram!");
+        ConsoleLog.info(" Todas as validações pré-operacionais passaram!");
         return true;
     }
 
     /**
      * CRIA BACKUP DO ARQUIVO DESTINO EXISTENTE
+     * Com --backup=link e troca atômica o destino antigo nunca é truncado e o
+     * backup é só um hard link; sem suporte a hard links (ex: FAT, alguns
+     * compartilhamentos de rede) recorre à cópia byte-a-byte.
+     */
+    private static void createBackup(String destFile, BackupStrategy strategy, StagedDestination destination,
+            FileSync fileSync) throws IOException {
+        if (strategy == BackupStrategy.LINK && destination.staged()) {
+            try {
+                StagedDestination.linkBackup(destFile, destFile + BACKUP_EXTENSION, fileSync);
+                ConsoleLog.info("   Backup criado: " + new File(destFile + BACKUP_EXTENSION).getName()
+                        + " (hard link, sem cópia de dados)");
+                return;
+            } catch (IOException | UnsupportedOperationException e) {
+                ConsoleLog.info("   Hard link indisponível (" + e.getMessage() + "), copiando o destino");
+            }
+        }
+        copyBackup(destFile, fileSync);
+    }
+
+    /**
+     * BACKUP POR CÓPIA DO DESTINO (--backup=copy e fallback)
+     * Em btrfs/xfs o backup é um clone reflink (FICLONE): compartilha as
+     * extensões do destino e só ocupa espaço quando os arquivos divergem.
+     * Sem suporte a reflink, copia byte-a-byte.
      */
-    private static void createBackup(String destFile) throws IOException {
+    private static void copyBackup(String destFile, FileSync fileSync) throws IOException {
         File original = new File(destFile);
         File backup = new File(destFile + BACKUP_EXTENSION);
 
+        String reflinkFailure = reflinkBackup(original.getPath(), backup.getPath());
+        if (reflinkFailure == null) {
+            fileSync.syncFile(backup.toPath());
+            fileSync.addDirectoryOf(backup.toPath(), true);
+            ConsoleLog.info("   Backup criado: " + backup.getName() + " (clone reflink, sem cópia de dados)");
+            return;
+        }
+        ConsoleLog.info("   Reflink indisponível (" + reflinkFailure + "), copiando byte-a-byte");
+
         try (FileInputStream backupIn = new FileInputStream(original);
                 FileOutputStream backupOut = new FileOutputStream(backup)) {
 
@@ -235,52 +502,102 @@ class ByteStreamExample {
             }
         }
 
-        System.out.println("   Backup criado: " + backup.getName());
+        fileSync.syncFile(backup.toPath());
+        fileSync.addDirectoryOf(backup.toPath(), true);
+        ConsoleLog.info("   Backup criado: " + backup.getName());
     }
 
     /**
-     * ATUALIZAÇÃO DE PROGRESSO COM ESTATÍSTICAS EM TEMPO REAL
+     * CLONA O DESTINO NO BACKUP COM ioctl(FICLONE)
+     *
+     * @return String - null em caso de sucesso, ou o motivo da falha
      */
-    private static void printProgressUpdate(int bytesProcessed, long startTime) {
-        long currentTime = System.currentTimeMillis();
-        long elapsedTime = currentTime - startTime;
-        double bytesPerSecond = (elapsedTime > 0) ? (bytesProcessed * 1000.0) / elapsedTime : 0;
+    private static String reflinkBackup(String destFile, String backupFile) {
+        if (!LinuxNative.isAvailable()) {
+            return LinuxNative.unavailableReason();
+        }
 
-        System.out.printf("    Progresso: %,d bytes | Velocidade: %,.2f bytes/segundo%n",
-                bytesProcessed, bytesPerSecond);
+        int sourceFd = -1;
+        int backupFd = -1;
+        try {
+            sourceFd = LinuxNative.open(destFile, LinuxNative.O_RDONLY);
+            backupFd = LinuxNative.open(backupFile, LinuxNative.O_WRONLY | LinuxNative.O_CREAT | LinuxNative.O_TRUNC,
+                    0644);
+            // EOPNOTSUPP/EINVAL: FS sem reflink | EXDEV: outro FS | ENOTTY: ioctl desconhecido
+            LinuxNative.ficlone(backupFd, sourceFd);
+            return null;
+        } catch (IOException e) {
+            return e.getMessage();
+        } finally {
+            if (backupFd >= 0) {
+                LinuxNative.close(backupFd);
+            }
+            if (sourceFd >= 0) {
+                LinuxNative.close(sourceFd);
+            }
+        }
     }
 
     /**
      * RELATÓRIO COMPLETO DE PERFORMANCE
+     * Tempos medidos com System.nanoTime (ver PhaseProfiler) - cópias abaixo
+     * de 1 ms têm velocidade calculada em vez de "0 ms".
      */
-    private static void generatePerformanceReport(long startTime, int totalBytes,
-            long operationStart, long initTime, long copyTime) {
-        long totalTime = System.currentTimeMillis() - operationStart;
+    private static void generatePerformanceReport(long startTime, long totalBytes, CopyEngine engine,
+            CopyContext context, CopyChecksum checksum, PhaseProfiler profiler) {
+        long totalNanos = profiler.elapsedNanos();
+        long copyNanos = profiler.nanos(PhaseProfiler.Phase.COPY);
         long endTime = System.currentTimeMillis();
 
-        double bytesPerSecond = (copyTime > 0) ? (totalBytes * 1000.0) / copyTime : 0;
-        double totalBytesPerSecond = (totalTime > 0) ? (totalBytes * 1000.0) / totalTime : 0;
-
-        System.out.println(" === RELATÓRIO DETALHADO DE PERFORMANCE ===");
-        System.out.println("   Bytes copiados: " + formatNumberWithCommas(totalBytes));
-        System.out.println("   Tempo total da operação: " + totalTime + " ms");
-        System.out.println("   - Inicialização: " + initTime + " ms");
-        System.out.println("   - Cópia: " + copyTime + " ms");
-        System.out.println("   - Limpeza: " + (totalTime - initTime - copyTime) + " ms");
-        System.out.printf("   Velocidade de cópia: %,.2f bytes/segundo%n", bytesPerSecond);
-        System.out.printf("   Velocidade total: %,.2f bytes/segundo%n", totalBytesPerSecond);
-        System.out.println("   Horário de início: " + new Date(startTime));
-        System.out.println("   Horário de término: " + new Date(endTime));
+        double bytesPerSecond = (copyNanos > 0) ? totalBytes * 1_000_000_000.0 / copyNanos : 0;
+        double totalBytesPerSecond = (totalNanos > 0) ? totalBytes * 1_000_000_000.0 / totalNanos : 0;
+
+        ConsoleLog.info(" === RELATÓRIO DETALHADO DE PERFORMANCE ===");
+        ConsoleLog.info("   Modo de cópia: " + engine.describe());
+        ConsoleLog.info("   Bytes copiados: " + formatNumberWithCommas(totalBytes));
+        ConsoleLog.printf(LogLevel.NORMAL, "   Tempo total até aqui: %.3f ms", totalNanos / 1_000_000.0);
+        for (PhaseProfiler.Phase phase : new PhaseProfiler.Phase[] {PhaseProfiler.Phase.VALIDATION,
+                PhaseProfiler.Phase.BACKUP, PhaseProfiler.Phase.INIT, PhaseProfiler.Phase.COPY}) {
+            ConsoleLog.printf(LogLevel.VERBOSE, "%s%s: %.3f ms", phase.nested() ? "     - " : "   - ",
+                    phase.label(), profiler.nanos(phase) / 1_000_000.0);
+        }
+        ConsoleLog.printf(LogLevel.NORMAL, "   Velocidade de cópia: %,.2f bytes/segundo", bytesPerSecond);
+        ConsoleLog.printf(LogLevel.NORMAL, "   Velocidade total: %,.2f bytes/segundo", totalBytesPerSecond);
+        ConsoleLog.detail("   Horário de início: " + new Date(startTime));
+        ConsoleLog.detail("   Horário de término: " + new Date(endTime));
 
         // ANÁLISE DE EFICIÊNCIA
-        double efficiency = ((double) copyTime / totalTime) * 100;
-        System.out.printf("   Eficiência operacional: %.1f%%%n", efficiency);
+        double efficiency = (totalNanos > 0) ? 100.0 * copyNanos / totalNanos : 0;
+        ConsoleLog.printf(LogLevel.VERBOSE, "   Eficiência operacional: %.1f%%", efficiency);
+
+        // LATÊNCIA POR CHAMADA DE LEITURA/ESCRITA (p50/p99/p999)
+        profiler.printLatencies();
+
+        // CUSTO DO CHECKSUM - isolado do tempo de cópia
+        if (checksum.enabled() && checksum.sourceDigest() == null) {
+            ConsoleLog.info("   Checksum " + checksum.algorithm().argumentName() + ": não calculado (dispensado por"
+                    + " --verify=" + context.options().verifyMode().argumentName() + ")");
+        } else if (checksum.enabled()) {
+            double hashMillis = checksum.hashNanos() / 1_000_000.0;
+            double hashBytesPerSecond = (checksum.hashNanos() > 0)
+                    ? checksum.bytesHashed() * 1_000_000_000.0 / checksum.hashNanos() : 0;
+            ConsoleLog.printf(LogLevel.NORMAL, "   Checksum %s: %,.2f bytes/segundo (%.1f ms, %s)",
+                    checksum.algorithm().argumentName(), hashBytesPerSecond, hashMillis,
+                    checksum.separatePass() ? "passagem separada sobre a fonte" : "durante a cópia");
+        } else {
+            ConsoleLog.info("   Checksum: desativado (--checksum=none)");
+        }
+
+        // DETALHES ESPECÍFICOS DO MOTOR DE CÓPIA
+        for (String note : context.reportNotes()) {
+            ConsoleLog.info("   " + note);
+        }
     }
 
     /**
      * FORMATA NÚMEROS COM VÍRGULAS (alternative para String.format)
      */
-    private static String formatNumberWithCommas(int number) {
+    private static String formatNumberWithCommas(long number) {
         // Implementação simples para versões antigas do Java
         return String.valueOf(number).replaceAll("\\B(?=(\\d{3})+(?!\\d))", ",");
     }
@@ -289,38 +606,45 @@ class ByteStreamExample {
      * TRATAMENTO AVANÇADO DE ERROS
      */
     private static void handleCopyOperationError(IOException e, String sourceFile,
-            String destFile, int bytesProcessed) {
-        System.err.println("*** ERRO CRÍTICO NA OPERAÇÃO DE CÓPIA ***");
-        System.err.println("   Tipo: " + e.getClass().getSimpleName());
-        System.err.println("   Mensagem: " + e.getMessage());
-        System.err.println("   Arquivo fonte: " + sourceFile);
-        System.err.println("   Arquivo destino: " + destFile);
-        System.err.println("   Bytes processados antes do erro: " + bytesProcessed);
+            String destFile, long bytesProcessed) {
+        ConsoleLog.error("*** ERRO CRÍTICO NA OPERAÇÃO DE CÓPIA ***");
+        ConsoleLog.error("   Tipo: " + e.getClass().getSimpleName());
+        ConsoleLog.error("   Mensagem: " + e.getMessage());
+        ConsoleLog.error("   Arquivo fonte: " + sourceFile);
+        ConsoleLog.error("   Arquivo destino: " + destFile);
+        ConsoleLog.error("   Bytes processados antes do erro: " + bytesProcessed);
+
+        // DESTINO PARCIAL COM JOURNAL (--mode=resumable) É MANTIDO PARA RETOMADA
+        if (CopyJournal.journalFile(destFile).exists()) {
+            ConsoleLog.error("   Arquivo destino parcial mantido - execute novamente com --mode=resumable");
+            ConsoleLog.error("   para continuar do último checkpoint");
+            return;
+        }
 
         // TENTATIVA DE LIMPEZA DO ARQUIVO CORROMPIDO
         try {
             File corruptedFile = new File(destFile);
             if (corruptedFile.exists() && bytesProcessed < corruptedFile.length()) {
                 corruptedFile.delete();
-                System.err.println("   Arquivo destino parcial foi removido devido ao erro");
+                ConsoleLog.error("   Arquivo destino parcial foi removido devido ao erro");
             }
         } catch (SecurityException se) {
-            System.err.println("   Não foi possível remover arquivo corrompido: " + se.getMessage());
+            ConsoleLog.error("   Não foi possível remover arquivo corrompido: " + se.getMessage());
         }
 
         // SUGESTÕES DE RECUPERAÇÃO
-        System.err.println("    SUGESTÕES:");
-        System.err.println("   - Verifique permissões de arquivo");
-        System.err.println("   - Confirme que o arquivo fonte não está corrompido");
-        System.err.println("   - Verifique espaço em disco disponível");
-        System.err.println("   - Tente executar como administrador se necessário");
+        ConsoleLog.error("    SUGESTÕES:");
+        ConsoleLog.error("   - Verifique permissões de arquivo");
+        ConsoleLog.error("   - Confirme que o arquivo fonte não está corrompido");
+        ConsoleLog.error("   - Verifique espaço em disco disponível");
+        ConsoleLog.error("   - Tente executar como administrador se necessário");
     }
 
     /**
      * GERENCIAMENTO SEGURO DE RECURSOS
      */
     private static void performResourceCleanup(FileInputStream inStream, FileOutputStream outStream) {
-        System.out.println(" Realizando limpeza de recursos...");
+        ConsoleLog.info(" Realizando limpeza de recursos...");
 
         int closedStreams = 0;
 
@@ -328,10 +652,10 @@ class ByteStreamExample {
         if (inStream != null) {
             try {
                 inStream.close();
-                System.out.println("    Input stream fechada com sucesso");
+                ConsoleLog.detail("    Input stream fechada com sucesso");
                 closedStreams++;
             } catch (IOException closeException) {
-                System.err.println("    ERRO ao fechar input stream: " + closeException.getMessage());
+                ConsoleLog.error("    ERRO ao fechar input stream: " + closeException.getMessage());
                 // Em casos críticos, poderia tentar force-close aqui
             }
         }
@@ -340,44 +664,228 @@ class ByteStreamExample {
         if (outStream != null) {
             try {
                 outStream.close();
-                System.out.println("    Output stream fechada com sucesso");
+                ConsoleLog.detail("    Output stream fechada com sucesso");
                 closedStreams++;
             } catch (IOException closeException) {
-                System.err.println("    ERRO ao fechar output stream: " + closeException.getMessage());
+                ConsoleLog.error("    ERRO ao fechar output stream: " + closeException.getMessage());
             }
         }
 
-        System.out.println("    Resumo de limpeza: " + closedStreams + "/2 streams fechadas");
-        System.out.println(" === RECURSOS LIBERADOS ===");
+        ConsoleLog.detail("    Resumo de limpeza: " + closedStreams + "/2 streams fechadas");
+        ConsoleLog.info(" === RECURSOS LIBERADOS ===");
     }
 
     /**
      * VERIFICAÇÃO PÓS-OPERAÇÃO
+     *
+     * @return boolean - false se o conteúdo do destino diverge da fonte
      */
-    private static void performPostCopyVerification(String sourceFile, String destFile) {
-        System.out.println("\n Realizando verificação pós-cópia...");
+    private static boolean performPostCopyVerification(CopyOptions options, CopyChecksum checksum) {
+        ConsoleLog.info("\n Realizando verificação pós-cópia...");
+
+        String sourceFile = options.sourceFile();
+        String destFile = options.destFile();
 
         File source = new File(sourceFile);
         File dest = new File(destFile);
 
+        // TAMANHO LÓGICO
         if (source.length() == dest.length()) {
-            System.out.println(" VERIFICAÇÃO: Tamanhos dos arquivos coincidem!");
-            System.out.println("   Tamanho fonte: " + source.length() + " bytes");
-            System.out.println("   Tamanho destino: " + dest.length() + " bytes");
+            ConsoleLog.info(" VERIFICAÇÃO: Tamanhos dos arquivos coincidem!");
+            ConsoleLog.detail("   Tamanho fonte: " + source.length() + " bytes");
+            ConsoleLog.detail("   Tamanho destino: " + dest.length() + " bytes");
+        } else {
+            ConsoleLog.warn("⚠ AVISO: Tamanhos dos arquivos diferem!");
+            ConsoleLog.info("   Tamanho fonte: " + source.length() + " bytes");
+            ConsoleLog.info("   Tamanho destino: " + dest.length() + " bytes");
+        }
+
+        // ESPAÇO ALOCADO - difere do tamanho lógico em arquivos esparsos
+        verifyAllocatedSpace(sourceFile, destFile);
+
+        // CONTEÚDO - uma única leitura do destino, comparada ao checksum da fonte
+        return verifyContent(options, checksum);
+    }
+
+    /**
+     * RELÊ O DESTINO E COMPARA COM O CHECKSUM CALCULADO DURANTE A CÓPIA
+     */
+    private static boolean verifyContent(CopyOptions options, CopyChecksum checksum) {
+        if (options.verifyMode() == VerifyMode.TREE) {
+            return verifyContentTree(options, checksum);
+        }
+        if (options.verifyMode() == VerifyMode.COMPARE) {
+            return verifyContentCompare(options);
+        }
+        if (options.verifyMode() == VerifyMode.SAMPLE) {
+            return verifyContentSample(options, checksum);
+        }
+        if (!checksum.enabled()) {
+            ConsoleLog.info("   Conteúdo: não verificado (--checksum=none)");
+            return true;
+        }
+        String algorithm = checksum.algorithm().argumentName();
+        if (checksum.sourceDigest() != null) {
+            ConsoleLog.info("   Checksum " + algorithm + " fonte: " + checksum.sourceDigest());
+        }
+        if (options.verifyMode() == VerifyMode.NONE) {
+            ConsoleLog.info("   Conteúdo: leitura do destino ignorada (--verify=none)");
+            return true;
+        }
+
+        String destDigest;
+        try {
+            destDigest = checksum.digestOf(options.destFile());
+        } catch (IOException e) {
+            ConsoleLog.warn("⚠ AVISO: Não foi possível ler o destino para verificação: " + e.getMessage());
+            return false;
+        }
+        ConsoleLog.info("   Checksum " + algorithm + " destino: " + destDigest);
+
+        if (destDigest.equals(checksum.sourceDigest())) {
+            ConsoleLog.info(" VERIFICAÇÃO: Conteúdo do destino confere com a fonte!");
+            return true;
+        }
+        ConsoleLog.warn("⚠ AVISO: Conteúdo do destino difere da fonte!");
+        return false;
+    }
+
+    /**
+     * VERIFICAÇÃO EM ÁRVORE DE HASHES (--verify=tree) - fonte e destino
+     * relidos em paralelo, faixas de --chunk-size com --threads workers
+     */
+    private static boolean verifyContentTree(CopyOptions options, CopyChecksum checksum) {
+        long verifyStart = System.nanoTime();
+        TreeHashVerifier.Result result;
+        try {
+            result = TreeHashVerifier.verify(options.sourceFile(), options.destFile(), checksum,
+                    options.chunkSize(), options.threads());
+        } catch (IOException e) {
+            ConsoleLog.warn("⚠ AVISO: Não foi possível concluir a verificação em árvore: " + e.getMessage());
+            return false;
+        }
+        double verifyMillis = (System.nanoTime() - verifyStart) / 1_000_000.0;
+
+        ConsoleLog.printf(LogLevel.NORMAL, "   Árvore de hashes: %d faixas de %s, %d threads, %.1f ms",
+                result.chunks(), CopyOptions.formatSize(options.chunkSize()), options.threads(), verifyMillis);
+        ConsoleLog.detail("   Raiz fonte: " + result.sourceRoot());
+        ConsoleLog.detail("   Raiz destino: " + result.destRoot());
+
+        if (result.matches()) {
+            ConsoleLog.info(" VERIFICAÇÃO: Conteúdo do destino confere com a fonte!");
+            return true;
+        }
+        ConsoleLog.warn("⚠ AVISO: Conteúdo do destino difere da fonte em " + result.mismatchedChunks()
+                + " faixa(s)!");
+        ConsoleLog.info("   Primeira faixa divergente: bytes " + result.firstMismatchStart() + " a "
+                + result.firstMismatchEnd() + " (exclusivo)");
+        return false;
+    }
+
+    /**
+     * COMPARAÇÃO DIRETA DE BYTES (--verify=compare) - janelas de --mmap-window
+     * comparadas com MemorySegment.mismatch por --threads workers
+     */
+    private static boolean verifyContentCompare(CopyOptions options) {
+        long verifyStart = System.nanoTime();
+        MismatchVerifier.Result result;
+        try {
+            result = MismatchVerifier.verify(options.sourceFile(), options.destFile(), options.mmapWindow(),
+                    options.threads());
+        } catch (IOException e) {
+            ConsoleLog.warn("⚠ AVISO: Não foi possível concluir a comparação: " + e.getMessage());
+            return false;
+        }
+        long verifyNanos = System.nanoTime() - verifyStart;
+
+        double gigabytesPerSecond = (verifyNanos > 0) ? (double) result.comparedBytes() / verifyNanos : 0;
+        ConsoleLog.printf(LogLevel.NORMAL, "   Comparação: %,d bytes em %d janelas, %.1f ms (%.2f GB/s)",
+                result.comparedBytes(), result.windows(), verifyNanos / 1_000_000.0, gigabytesPerSecond);
+
+        if (result.matches()) {
+            ConsoleLog.info(" VERIFICAÇÃO: Conteúdo do destino confere com a fonte!");
+            return true;
+        }
+        ConsoleLog.warn("⚠ AVISO: Conteúdo do destino difere da fonte!");
+        ConsoleLog.info("   Primeira diferença no offset: " + result.firstDifference());
+        return false;
+    }
+
+    /**
+     * VERIFICAÇÃO POR AMOSTRAGEM (--verify=sample) - --samples blocos de
+     * --buffer-size sorteados, mais o primeiro e o último
+     */
+    private static boolean verifyContentSample(CopyOptions options, CopyChecksum checksum) {
+        long verifyStart = System.nanoTime();
+        SampledVerifier.Result result;
+        try {
+            result = SampledVerifier.verify(options.sourceFile(), options.destFile(), checksum,
+                    options.bufferSize(), options.samples());
+        } catch (IOException e) {
+            ConsoleLog.warn("⚠ AVISO: Não foi possível concluir a amostragem: " + e.getMessage());
+            return false;
+        }
+        long verifyNanos = System.nanoTime() - verifyStart;
+
+        double coverage = (result.totalBlocks() > 0) ? 100.0 * result.sampledBlocks() / result.totalBlocks() : 100;
+        ConsoleLog.printf(LogLevel.NORMAL,
+                "   Amostragem: %d de %d blocos de %s (cobertura de %.4f%%, %,d bytes), %.1f ms",
+                result.sampledBlocks(), result.totalBlocks(), CopyOptions.formatSize(options.bufferSize()),
+                coverage, result.sampledBytes(), verifyNanos / 1_000_000.0);
+        ConsoleLog.printf(LogLevel.NORMAL, "   - Cabeça e cauda: %d bloco(s) sempre lidos | Sorteio: %d de %d "
+                + "blocos internos", result.fixedBlocks(), result.randomBlocks(), result.interiorBlocks());
+
+        if (!result.matches()) {
+            ConsoleLog.warn("⚠ AVISO: Conteúdo do destino difere da fonte!");
+            ConsoleLog.info("   Bloco divergente no offset: " + result.firstMismatch());
+            return false;
+        }
+        if (result.maxCorruptedFraction() == 0) {
+            ConsoleLog.info(" VERIFICAÇÃO: Conteúdo do destino confere com a fonte (todos os blocos lidos)!");
+        } else {
+            ConsoleLog.printf(LogLevel.NORMAL,
+                    " VERIFICAÇÃO: Blocos amostrados conferem - cabeça e cauda idênticas e, com %.0f%% de "
+                    + "confiança, menos de %.2f%% dos blocos internos divergem", SampledVerifier.CONFIDENCE * 100,
+                    result.maxCorruptedFraction() * 100);
+        }
+        return true;
+    }
+
+    /**
+     * COMPARA OS BLOCOS ALOCADOS EM DISCO (st_blocks) DA FONTE E DO DESTINO
+     */
+    private static void verifyAllocatedSpace(String sourceFile, String destFile) {
+        if (!LinuxNative.isAvailable()) {
+            ConsoleLog.info("   Espaço alocado: não verificado (" + LinuxNative.unavailableReason() + ")");
+            return;
+        }
+
+        long sourceAllocated;
+        long destAllocated;
+        try {
+            sourceAllocated = LinuxNative.allocatedBytes(sourceFile);
+            destAllocated = LinuxNative.allocatedBytes(destFile);
+        } catch (IOException e) {
+            ConsoleLog.info("   Espaço alocado: não verificado (" + e.getMessage() + ")");
+            return;
+        }
+
+        if (destAllocated <= sourceAllocated) {
+            ConsoleLog.info(" VERIFICAÇÃO: Destino não ocupa mais espaço em disco que a fonte!");
         } else {
-            System.out.println("⚠ AVISO: Tamanhos dos arquivos diferem!");
-            System.out.println("   Tamanho fonte: " + source.length() + " bytes");
-            System.out.println("   Tamanho destino: " + dest.length() + " bytes");
+            ConsoleLog.warn("⚠ AVISO: Destino ocupa mais espaço em disco que a fonte (buracos não preservados)");
         }
+        ConsoleLog.detail("   Alocado fonte: " + sourceAllocated + " bytes");
+        ConsoleLog.detail("   Alocado destino: " + destAllocated + " bytes");
     }
 
     /**
      * HEADER PARA ORGANIZAÇÃO VISUAL DAS FASES - VERSÃO COMPATÍVEL
      */
     private static void printOperationHeader(String phaseName) {
-        System.out.println("\n" + generateLine(60));
-        System.out.println(" " + phaseName);
-        System.out.println(generateLine(60));
+        ConsoleLog.line(LogLevel.NORMAL).append('\n').append(SEPARATOR_LINE)
+                .append("\n ").append(phaseName)
+                .append('\n').append(SEPARATOR_LINE).end();
     }
 
     /**
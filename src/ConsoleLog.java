@@ -0,0 +1,387 @@
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.text.DecimalFormatSymbols;
+import java.util.Formatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * CLASSE: ConsoleLog
+ * DESCRIÇÃO: Camada de log assíncrona do console (--log=quiet|normal|verbose).
+ * Quem registra uma mensagem apenas a formata em um buffer reaproveitado; a
+ * escrita em stdout/stderr é feita por uma única thread de fundo
+ * (console-writer), então nenhuma thread de cópia bloqueia no console.
+ *
+ * FILA: anel limitado de CAPACITY linhas, sem locks, para vários produtores e
+ * um consumidor. Cada posição do anel é dona de uma Line (StringBuilder +
+ * Formatter) e de um número de sequência:
+ * - sequência == posição         -> livre para o produtor daquela volta
+ * - sequência == posição + 1     -> publicada, pronta para o consumidor
+ * - sequência == posição + CAPACITY -> liberada para a próxima volta
+ * Com o anel cheio o produtor espera (backpressure) - nenhuma linha é perdida.
+ *
+ * SEM ALOCAÇÃO: line(nível) devolve a Line da posição reservada, ou uma Line
+ * inerte se o nível está desativado; os métodos append (inclusive números
+ * com separador de milhar e casas decimais) escrevem direto no buffer. Com
+ * --log=quiet o caminho de cópia não aloca nem faz I/O de console.
+ * info/detail/printf aceitam texto já montado e servem às fases fora do laço
+ * de cópia.
+ *
+ * LINHAS NUNCA PUBLICADAS: a thread de escrita consome em ordem, então uma
+ * Line reservada e não publicada seguraria todas as seguintes. Line é
+ * AutoCloseable (close() publica o que foi montado) e format() publica a
+ * linha antes de repassar uma exceção de formatação.
+ *
+ * As linhas pendentes são descarregadas por flush(), também registrado como
+ * shutdown hook - inclusive quando o programa termina com System.exit. A
+ * espera é limitada: se a thread de escrita não avança por FLUSH_STALL_NANOS
+ * (console bloqueado ou linha abandonada), flush() desiste em vez de travar
+ * o encerramento da JVM.
+ */
+final class ConsoleLog {
+
+    private static final int CAPACITY = 1024; // potência de 2
+    private static final int MASK = CAPACITY - 1;
+    private static final int INITIAL_LINE_CAPACITY = 256;
+    private static final long IDLE_PARK_NANOS = 1_000_000; // 1 ms
+    private static final long FLUSH_STALL_NANOS = 2_000_000_000L; // 2 s sem avanço
+    private static final long[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000};
+
+    private static final DecimalFormatSymbols SYMBOLS =
+            DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+
+    /**
+     * LINHA EM FORMAÇÃO - obtida com line(nível), publicada com end() ou close()
+     * Não pode ser usada depois de publicada: a posição volta para o anel.
+     */
+    static final class Line implements AutoCloseable {
+        private final StringBuilder text = new StringBuilder(INITIAL_LINE_CAPACITY);
+        private final Formatter formatter = new Formatter(text);
+        private final int index;
+        private long position;
+        private boolean error;
+        private boolean open;
+
+        private Line(int index) {
+            this.index = index;
+        }
+
+        private boolean inert() {
+            return index < 0;
+        }
+
+        Line append(CharSequence value) {
+            if (!inert()) {
+                text.append(value);
+            }
+            return this;
+        }
+
+        Line append(char value) {
+            if (!inert()) {
+                text.append(value);
+            }
+            return this;
+        }
+
+        Line append(long value) {
+            if (!inert()) {
+                text.append(value);
+            }
+            return this;
+        }
+
+        /**
+         * INTEIRO COM SEPARADOR DE MILHAR DO LOCALE (equivale a %,d)
+         */
+        Line appendGrouped(long value) {
+            if (inert()) {
+                return this;
+            }
+            if (value == Long.MIN_VALUE) {
+                text.append(value);
+                return this;
+            }
+            if (value < 0) {
+                text.append(SYMBOLS.getMinusSign());
+                value = -value;
+            }
+            long divisor = 1;
+            while (value / divisor >= 1000) {
+                divisor *= 1000;
+            }
+            text.append(value / divisor);
+            while (divisor > 1) {
+                value %= divisor;
+                divisor /= 1000;
+                long group = value / divisor;
+                text.append(SYMBOLS.getGroupingSeparator());
+                if (group < 100) {
+                    text.append('0');
+                }
+                if (group < 10) {
+                    text.append('0');
+                }
+                text.append(group);
+            }
+            return this;
+        }
+
+        /**
+         * DECIMAL COM SEPARADOR DE MILHAR E decimals CASAS (equivale a %,.Nf)
+         *
+         * @param decimals - 0 a 6 casas decimais
+         */
+        Line appendFixed(double value, int decimals) {
+            if (inert()) {
+                return this;
+            }
+            long scale = POWERS_OF_TEN[decimals];
+            double scaled = Math.abs(value) * scale;
+            if (Double.isNaN(scaled) || scaled >= Long.MAX_VALUE) {
+                text.append(value);
+                return this;
+            }
+            long rounded = Math.round(scaled);
+            if (value < 0 && rounded != 0) {
+                text.append(SYMBOLS.getMinusSign());
+            }
+            appendGrouped(rounded / scale);
+            if (decimals > 0) {
+                text.append(SYMBOLS.getDecimalSeparator());
+                long fraction = rounded % scale;
+                for (long digit = scale / 10; digit > fraction && digit > 1; digit /= 10) {
+                    text.append('0');
+                }
+                text.append(fraction);
+            }
+            return this;
+        }
+
+        /**
+         * TEXTO NO FORMATO DE String.format - aloca os argumentos; fora do laço de cópia
+         */
+        Line format(String format, Object... args) {
+            if (!inert()) {
+                try {
+                    formatter.format(format, args);
+                } catch (RuntimeException e) {
+                    // FORMATO INVÁLIDO - a posição não pode ficar reservada para sempre
+                    end();
+                    throw e;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * PUBLICA A LINHA PARA A THREAD DE ESCRITA (sem efeito se já publicada)
+         */
+        void end() {
+            if (!inert() && open) {
+                open = false;
+                SEQUENCES.lazySet(index, position + 1);
+            }
+        }
+
+        /**
+         * PUBLICA A LINHA AO SAIR DE UM try-with-resources, mesmo após exceção
+         */
+        @Override
+        public void close() {
+            end();
+        }
+    }
+
+    private static final Line INERT_LINE = new Line(-1);
+    private static final Line[] LINES = new Line[CAPACITY];
+    private static final AtomicLongArray SEQUENCES = new AtomicLongArray(CAPACITY);
+    private static final AtomicLong TAIL = new AtomicLong(); // próxima posição a reservar
+    private static final AtomicLong FLUSHED = new AtomicLong(); // posições já entregues ao sistema
+    private static final AtomicLong CONSUMED = new AtomicLong(); // posições já lidas pela thread de escrita
+    private static final Thread WRITER;
+
+    private static volatile LogLevel level = LogLevel.NORMAL;
+
+    static {
+        for (int i = 0; i < CAPACITY; i++) {
+            LINES[i] = new Line(i);
+            SEQUENCES.set(i, i);
+        }
+        WRITER = new Thread(ConsoleLog::writeLoop, "console-writer");
+        WRITER.setDaemon(true);
+        WRITER.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ConsoleLog::flush, "console-flush"));
+    }
+
+    private ConsoleLog() {
+    }
+
+    static void setLevel(LogLevel newLevel) {
+        level = newLevel;
+    }
+
+    static LogLevel level() {
+        return level;
+    }
+
+    /**
+     * true SE MENSAGENS DO NÍVEL INFORMADO SÃO ESCRITAS
+     */
+    static boolean enabled(LogLevel messageLevel) {
+        return messageLevel != LogLevel.QUIET && messageLevel.compareTo(level) <= 0;
+    }
+
+    /**
+     * RESERVA UMA LINHA PARA stdout - inerte (sem efeito) se o nível está desativado
+     */
+    static Line line(LogLevel messageLevel) {
+        return enabled(messageLevel) ? claim(false) : INERT_LINE;
+    }
+
+    /**
+     * RESERVA UMA LINHA PARA stderr - erros aparecem em qualquer nível
+     */
+    static Line errorLine() {
+        return claim(true);
+    }
+
+    /**
+     * MENSAGEM DO NÍVEL NORMAL
+     */
+    static void info(CharSequence message) {
+        line(LogLevel.NORMAL).append(message).end();
+    }
+
+    /**
+     * MENSAGEM DO NÍVEL VERBOSE
+     */
+    static void detail(CharSequence message) {
+        line(LogLevel.VERBOSE).append(message).end();
+    }
+
+    /**
+     * MENSAGEM FORMATADA COMO String.format - a quebra de linha é acrescentada
+     */
+    static void printf(LogLevel messageLevel, String format, Object... args) {
+        line(messageLevel).format(format, args).end();
+    }
+
+    /**
+     * AVISO EM stdout - aparece em qualquer nível, inclusive quiet
+     */
+    static void warn(CharSequence message) {
+        claim(false).append(message).end();
+    }
+
+    /**
+     * ERRO EM stderr - aparece em qualquer nível
+     */
+    static void error(CharSequence message) {
+        errorLine().append(message).end();
+    }
+
+    /**
+     * AGUARDA ATÉ QUE TODAS AS LINHAS JÁ RESERVADAS ESTEJAM NO CONSOLE - ou
+     * até a thread de escrita ficar FLUSH_STALL_NANOS sem avançar
+     */
+    static void flush() {
+        long target = TAIL.get();
+        long consumed = CONSUMED.get();
+        long lastAdvance = System.nanoTime();
+        while (FLUSHED.get() < target && WRITER.isAlive()) {
+            LockSupport.unpark(WRITER);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+
+            long current = CONSUMED.get();
+            if (current != consumed) {
+                consumed = current;
+                lastAdvance = System.nanoTime();
+            } else if (System.nanoTime() - lastAdvance > FLUSH_STALL_NANOS) {
+                return; // LINHA ABANDONADA OU CONSOLE BLOQUEADO - não trava o encerramento
+            }
+        }
+    }
+
+    /**
+     * RESERVA A PRÓXIMA POSIÇÃO DO ANEL - espera se o consumidor ainda não a liberou
+     */
+    private static Line claim(boolean error) {
+        long position = TAIL.getAndIncrement();
+        int index = (int) position & MASK;
+        while (SEQUENCES.get(index) != position) {
+            // ANEL CHEIO - a thread de escrita está uma volta atrás
+            LockSupport.unpark(WRITER);
+            Thread.onSpinWait();
+        }
+        Line line = LINES[index];
+        line.text.setLength(0);
+        line.position = position;
+        line.error = error;
+        line.open = true;
+        return line;
+    }
+
+    /**
+     * LAÇO DA THREAD DE ESCRITA - consome em ordem e descarrega quando ocioso
+     */
+    private static void writeLoop() {
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out),
+                System.out.charset()));
+        Writer err = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.err),
+                System.err.charset()));
+        String lineSeparator = System.lineSeparator();
+        char[] chars = new char[INITIAL_LINE_CAPACITY];
+        Writer last = out;
+        long head = 0;
+
+        while (true) {
+            int index = (int) head & MASK;
+            if (SEQUENCES.get(index) != head + 1) {
+                // NADA PUBLICADO - entrega o que foi escrito e dorme
+                flushQuietly(out);
+                flushQuietly(err);
+                FLUSHED.set(head);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            Line line = LINES[index];
+            Writer target = line.error ? err : out;
+            if (target != last) {
+                // stdout e stderr intercalados na ordem em que foram registrados
+                flushQuietly(last);
+                last = target;
+            }
+            int length = line.text.length();
+            if (length > chars.length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            line.text.getChars(0, length, chars, 0);
+            SEQUENCES.lazySet(index, head + CAPACITY);
+            head++;
+            CONSUMED.lazySet(head);
+
+            try {
+                target.write(chars, 0, length);
+                target.write(lineSeparator);
+            } catch (IOException e) {
+                // CONSOLE FECHADO - as mensagens seguintes também seriam perdidas
+            }
+        }
+    }
+
+    private static void flushQuietly(Writer writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            // CONSOLE FECHADO - nada a fazer
+        }
+    }
+}
@@ -0,0 +1,239 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32C;
+
+/**
+ * CLASSE: CopyChecksum
+ * DESCRIÇÃO: Checksum calculado sobre os blocos à medida que passam pelo
+ * motor de cópia (--checksum=crc32c|sha256|none). Evita reler a fonte na
+ * verificação pós-cópia: basta uma passagem de leitura sobre o destino, ou
+ * nenhuma com --verify=none.
+ *
+ * Motores que veem todos os dados em ordem no espaço de usuário (buffered,
+ * mmap, pipeline, direct) chamam update(). Os demais (transfer/kernel copiam
+ * dentro do kernel; parallel, async e io_uring escrevem fora de ordem;
+ * sparse e resumable não leem o arquivo inteiro) não alimentam o checksum, e
+ * o da fonte é calculado depois em uma passagem própria - ver
+ * ensureSourceDigest.
+ *
+ * Não é thread-safe: apenas uma thread por vez pode chamar update().
+ */
+final class CopyChecksum {
+
+    private static final int VERIFY_BUFFER_SIZE = 1024 * 1024; // 1 MiB
+
+    /**
+     * ALGORITMOS SUPORTADOS - nome usado em --checksum=nome
+     */
+    enum Algorithm {
+        CRC32C("crc32c"),
+        SHA256("sha256"),
+        NONE("none");
+
+        private final String argumentName;
+
+        Algorithm(String argumentName) {
+            this.argumentName = argumentName;
+        }
+
+        String argumentName() {
+            return argumentName;
+        }
+
+        static Algorithm fromArgument(String name) {
+            for (Algorithm algorithm : values()) {
+                if (algorithm.argumentName.equalsIgnoreCase(name)) {
+                    return algorithm;
+                }
+            }
+            throw new IllegalArgumentException("Algoritmo de checksum desconhecido: " + name);
+        }
+    }
+
+    private final Algorithm algorithm;
+    private final CRC32C crc;
+    private final MessageDigest digest;
+
+    private long bytesHashed = 0;
+    private long hashNanos = 0;
+    private boolean separatePass = false;
+    private String sourceDigest;
+
+    CopyChecksum(Algorithm algorithm) {
+        this.algorithm = algorithm;
+        this.crc = (algorithm == Algorithm.CRC32C) ? new CRC32C() : null;
+        this.digest = (algorithm == Algorithm.SHA256) ? newSha256() : null;
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Todo runtime Java é obrigado a oferecer SHA-256
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+    }
+
+    Algorithm algorithm() {
+        return algorithm;
+    }
+
+    boolean enabled() {
+        return algorithm != Algorithm.NONE;
+    }
+
+    /**
+     * ACUMULA OS BYTES ENTRE position E limit - a posição do buffer não muda
+     */
+    void update(ByteBuffer buffer) {
+        if (!enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int length = buffer.remaining();
+        if (crc != null) {
+            crc.update(buffer.duplicate());
+        } else {
+            digest.update(buffer.duplicate());
+        }
+        bytesHashed += length;
+        hashNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * ACUMULA length BYTES DO ARRAY A PARTIR DE offset
+     */
+    void update(byte[] data, int offset, int length) {
+        if (!enabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (crc != null) {
+            crc.update(data, offset, length);
+        } else {
+            digest.update(data, offset, length);
+        }
+        bytesHashed += length;
+        hashNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * GARANTE O CHECKSUM DA FONTE APÓS A CÓPIA
+     * Se o motor não alimentou todos os bytes copiados, o estado acumulado é
+     * descartado e a fonte é lida em uma passagem separada.
+     *
+     * @param copiedBytes   - bytes copiados pelo motor
+     * @param allowSeparate - false quando ninguém vai usar o checksum da fonte;
+     *                      sem ele o digest só existe se veio da própria cópia
+     */
+    void ensureSourceDigest(String sourceFile, long copiedBytes, boolean allowSeparate) throws IOException {
+        if (!enabled() || sourceDigest != null) {
+            return;
+        }
+        if (bytesHashed == copiedBytes) {
+            sourceDigest = finish();
+            return;
+        }
+        if (!allowSeparate) {
+            return;
+        }
+
+        reset();
+        separatePass = true;
+        hashFile(sourceFile);
+        sourceDigest = finish();
+    }
+
+    /**
+     * CALCULA O CHECKSUM DE UM ARQUIVO COMPLETO COM O MESMO ALGORITMO
+     *
+     * @return String - checksum em hexadecimal
+     */
+    String digestOf(String file) throws IOException {
+        CopyChecksum fileChecksum = new CopyChecksum(algorithm);
+        fileChecksum.hashFile(file);
+        return fileChecksum.finish();
+    }
+
+    /**
+     * CALCULA O CHECKSUM DA FAIXA [start, end) DE UM CANAL - leitura posicional,
+     * segura para várias threads sobre o mesmo canal
+     *
+     * @return String - checksum em hexadecimal (faixa vazia se além do fim)
+     */
+    String digestOfRange(FileChannel channel, long start, long end, ByteBuffer buffer) throws IOException {
+        CopyChecksum rangeChecksum = new CopyChecksum(algorithm);
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            int bytesRead = channel.read(buffer, position);
+            if (bytesRead <= 0) {
+                break;
+            }
+            buffer.flip();
+            rangeChecksum.update(buffer);
+            position += bytesRead;
+        }
+        return rangeChecksum.finish();
+    }
+
+    private void hashFile(String file) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(VERIFY_BUFFER_SIZE);
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                update(buffer);
+                buffer.clear();
+            }
+        }
+    }
+
+    private void reset() {
+        if (crc != null) {
+            crc.reset();
+        } else {
+            digest.reset();
+        }
+        bytesHashed = 0;
+        hashNanos = 0;
+    }
+
+    private String finish() {
+        if (crc != null) {
+            return String.format("%08x", crc.getValue());
+        }
+        StringBuilder hex = new StringBuilder();
+        for (byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    String sourceDigest() {
+        return sourceDigest;
+    }
+
+    long bytesHashed() {
+        return bytesHashed;
+    }
+
+    /**
+     * TEMPO GASTO APENAS NO CÁLCULO DO CHECKSUM DA FONTE
+     */
+    long hashNanos() {
+        return hashNanos;
+    }
+
+    /**
+     * true SE O CHECKSUM DA FONTE EXIGIU UMA LEITURA EXTRA
+     */
+    boolean separatePass() {
+        return separatePass;
+    }
+}
@@ -0,0 +1,101 @@
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CLASSE: CopyContext
+ * DESCRIÇÃO: Estado compartilhado entre o ByteStreamExample e o motor de
+ * cópia durante a FASE 3. Reúne as streams abertas na FASE 2, as opções da
+ * execução, o acompanhamento de progresso, o checksum em andamento, o
+ * perfil de latências e as notas que o motor deseja incluir no relatório
+ * da FASE 4.
+ */
+class CopyContext {
+
+    private final CopyOptions options;
+    private final String writeFile;
+    private final FileInputStream inStream;
+    private final FileOutputStream outStream;
+    private final CopyProgress progress;
+    private final CopyChecksum checksum;
+    private final PhaseProfiler profiler;
+    private final List<String> reportNotes = new ArrayList<>();
+
+    CopyContext(CopyOptions options, String writeFile, FileInputStream inStream, FileOutputStream outStream,
+            CopyProgress progress, CopyChecksum checksum, PhaseProfiler profiler) {
+        this.options = options;
+        this.writeFile = writeFile;
+        this.inStream = inStream;
+        this.outStream = outStream;
+        this.progress = progress;
+        this.checksum = checksum;
+        this.profiler = profiler;
+    }
+
+    CopyOptions options() {
+        return options;
+    }
+
+    String sourceFile() {
+        return options.sourceFile();
+    }
+
+    /**
+     * ARQUIVO EFETIVAMENTE ESCRITO - o temporário quando o destino é trocado
+     * atomicamente no final (ver StagedDestination)
+     */
+    String destFile() {
+        return writeFile;
+    }
+
+    FileInputStream inStream() {
+        return inStream;
+    }
+
+    FileOutputStream outStream() {
+        return outStream;
+    }
+
+    CopyProgress progress() {
+        return progress;
+    }
+
+    /**
+     * CHECKSUM ALIMENTADO PELOS MOTORES QUE VEEM OS DADOS EM ORDEM
+     */
+    CopyChecksum checksum() {
+        return checksum;
+    }
+
+    /**
+     * TEMPOS DAS FASES E HISTOGRAMAS DE LATÊNCIA DE LEITURA/ESCRITA POR BLOCO
+     */
+    PhaseProfiler profiler() {
+        return profiler;
+    }
+
+    /**
+     * ADICIONA UMA LINHA AO RELATÓRIO DE PERFORMANCE (FASE 4)
+     */
+    void addReportNote(String note) {
+        reportNotes.add(note);
+    }
+
+    List<String> reportNotes() {
+        return reportNotes;
+    }
+
+    /**
+     * VERIFICAÇÃO DE INTERRUPÇÃO (para sistemas interativos)
+     *
+     * @return boolean - true se a thread atual foi interrompida
+     */
+    boolean checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            ConsoleLog.info("⚠ Operação interrompida pelo usuário!");
+            return true;
+        }
+        return false;
+    }
+}
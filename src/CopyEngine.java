@@ -0,0 +1,25 @@
+import java.io.IOException;
+
+/**
+ * INTERFACE: CopyEngine
+ * DESCRIÇÃO: Motor responsável pela FASE 3 (transferência dos dados) do
+ * ByteStreamExample. As fases de validação, inicialização, relatório e
+ * limpeza continuam a cargo do ByteStreamExample; o motor apenas move os
+ * bytes da fonte para o destino.
+ */
+interface CopyEngine {
+
+    /**
+     * DESCRIÇÃO CURTA DO MOTOR PARA O RELATÓRIO (ex: "buffered (buffer 64 KiB)")
+     */
+    String describe();
+
+    /**
+     * EXECUTA A CÓPIA
+     *
+     * @param context - streams abertas, opções, progresso e notas do relatório
+     * @return long - total de bytes copiados
+     * @throws IOException - qualquer falha de leitura ou escrita
+     */
+    long copy(CopyContext context) throws IOException;
+}
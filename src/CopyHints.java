@@ -0,0 +1,146 @@
+import java.io.IOException;
+
+/**
+ * CLASSE: CopyHints
+ * DESCRIÇÃO: Dicas ao kernel para cópias sequenciais (--hints=true), válidas
+ * para qualquer motor de cópia:
+ * - fallocate(FALLOC_FL_KEEP_SIZE) reserva os blocos do destino de uma vez,
+ *   evitando a fragmentação de um arquivo que cresce bloco a bloco (exceto
+ *   no modo sparse, em que reservar o arquivo inteiro desfaria os buracos)
+ * - POSIX_FADV_SEQUENTIAL na fonte dobra a janela de readahead
+ * - Atrás do cursor de escrita, cada janela de HINT_WINDOW bytes tem o
+ *   writeback iniciado (sync_file_range) e, uma janela depois, é descartada
+ *   do page cache com POSIX_FADV_DONTNEED na fonte e no destino
+ *
+ * As dicas usam descritores próprios: page cache e blocos alocados pertencem
+ * ao inode, então valem também para as streams e canais dos motores. O
+ * cursor é o total de bytes do CopyProgress; em motores fora de ordem
+ * (parallel, async, io_uring) ele é uma aproximação.
+ *
+ * FALHAS NUNCA INTERROMPEM A CÓPIA - são registradas no relatório.
+ */
+final class CopyHints implements AutoCloseable {
+
+    static final long HINT_WINDOW = 8L * 1024 * 1024; // 8 MiB
+
+    private volatile int sourceFd = -1;
+    private volatile int destFd = -1;
+    private String fallocateStatus = "não aplicado";
+    private String sequentialStatus = "não aplicado";
+    private String dropStatus = "não aplicado";
+
+    private volatile long writebackStarted = 0; // fim da última janela com writeback iniciado
+    private long droppedUpTo = 0; // fim da última janela descartada do cache
+    private int windowsDropped = 0;
+
+    private CopyHints() {
+    }
+
+    /**
+     * ABRE OS DESCRITORES E APLICA AS DICAS INICIAIS
+     *
+     * @param size   - tamanho da fonte (quantidade a reservar no destino)
+     * @param sparse - true se o motor preserva buracos: nada é reservado
+     */
+    static CopyHints apply(String sourceFile, String destFile, long size, boolean sparse) {
+        CopyHints hints = new CopyHints();
+        if (!LinuxNative.isAvailable()) {
+            String reason = "indisponível - " + LinuxNative.unavailableReason();
+            hints.fallocateStatus = reason;
+            hints.sequentialStatus = reason;
+            hints.dropStatus = reason;
+            return hints;
+        }
+
+        try {
+            hints.sourceFd = LinuxNative.open(sourceFile, LinuxNative.O_RDONLY);
+            hints.destFd = LinuxNative.open(destFile, LinuxNative.O_WRONLY);
+        } catch (IOException e) {
+            hints.fallocateStatus = "falhou - " + e.getMessage();
+            hints.sequentialStatus = hints.fallocateStatus;
+            hints.dropStatus = hints.fallocateStatus;
+            hints.close();
+            return hints;
+        }
+
+        if (sparse) {
+            hints.fallocateStatus = "ignorado (modo sparse preserva os buracos do destino)";
+        } else if (size > 0) {
+            try {
+                LinuxNative.fallocate(hints.destFd, LinuxNative.FALLOC_FL_KEEP_SIZE, 0, size);
+                hints.fallocateStatus = "aplicado (" + size + " bytes reservados)";
+            } catch (IOException e) {
+                hints.fallocateStatus = "falhou - " + e.getMessage();
+            }
+        }
+
+        try {
+            LinuxNative.posixFadvise(hints.sourceFd, 0, 0, LinuxNative.POSIX_FADV_SEQUENTIAL);
+            hints.sequentialStatus = "aplicado";
+        } catch (IOException e) {
+            hints.sequentialStatus = "falhou - " + e.getMessage();
+        }
+
+        hints.dropStatus = "aplicado";
+        return hints;
+    }
+
+    /**
+     * OUVINTE DO CopyProgress - recebe o total de bytes já copiados
+     */
+    void onProgress(long totalBytes) {
+        // Caminho rápido sem lock: nenhuma janela nova foi completada
+        if (destFd < 0 || totalBytes - writebackStarted < HINT_WINDOW) {
+            return;
+        }
+        advanceWindows(totalBytes);
+    }
+
+    private synchronized void advanceWindows(long totalBytes) {
+        try {
+            while (destFd >= 0 && totalBytes - writebackStarted >= HINT_WINDOW) {
+                // JANELA RECÉM-ESCRITA: apenas inicia o writeback, sem esperar
+                LinuxNative.syncFileRange(destFd, writebackStarted, HINT_WINDOW,
+                        LinuxNative.SYNC_FILE_RANGE_WRITE);
+                writebackStarted += HINT_WINDOW;
+
+                // JANELA ANTERIOR: aguarda o writeback e descarta do cache
+                if (writebackStarted - droppedUpTo > HINT_WINDOW) {
+                    LinuxNative.syncFileRange(destFd, droppedUpTo, HINT_WINDOW,
+                            LinuxNative.SYNC_FILE_RANGE_WAIT_BEFORE | LinuxNative.SYNC_FILE_RANGE_WRITE
+                                    | LinuxNative.SYNC_FILE_RANGE_WAIT_AFTER);
+                    LinuxNative.posixFadvise(destFd, droppedUpTo, HINT_WINDOW, LinuxNative.POSIX_FADV_DONTNEED);
+                    LinuxNative.posixFadvise(sourceFd, droppedUpTo, HINT_WINDOW, LinuxNative.POSIX_FADV_DONTNEED);
+                    droppedUpTo += HINT_WINDOW;
+                    windowsDropped++;
+                }
+            }
+        } catch (IOException e) {
+            // Desativa as dicas seguintes; a cópia continua normalmente
+            dropStatus = "interrompido - " + e.getMessage();
+            close();
+        }
+    }
+
+    /**
+     * REGISTRA NO RELATÓRIO QUAIS DICAS FORAM APLICADAS
+     */
+    synchronized void addReportNotes(CopyContext context) {
+        context.addReportNote("Hints: fallocate " + fallocateStatus);
+        context.addReportNote("Hints: POSIX_FADV_SEQUENTIAL " + sequentialStatus);
+        context.addReportNote("Hints: POSIX_FADV_DONTNEED atrás do cursor " + dropStatus + " ("
+                + windowsDropped + " janelas de " + CopyOptions.formatSize(HINT_WINDOW) + " descartadas)");
+    }
+
+    @Override
+    public synchronized void close() {
+        if (destFd >= 0) {
+            LinuxNative.close(destFd);
+            destFd = -1;
+        }
+        if (sourceFd >= 0) {
+            LinuxNative.close(sourceFd);
+            sourceFd = -1;
+        }
+    }
+}
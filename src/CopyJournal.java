@@ -0,0 +1,187 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CLASSE: CopyJournal
+ * DESCRIÇÃO: Journal de checkpoints da cópia retomável (--mode=resumable).
+ * Fica ao lado do destino (destino + JOURNAL_EXTENSION) e registra, para
+ * cada bloco de BLOCK_SIZE bytes já gravado de forma durável no destino, o
+ * CRC32C do seu conteúdo.
+ *
+ * FORMATO (binário, big-endian):
+ * - Cabeçalho: MAGIC, BLOCK_SIZE, tamanho e data de modificação da fonte
+ * - Registros: um int (CRC32C) por bloco confirmado, em ordem - o offset do
+ *   bloco é implícito (índice * BLOCK_SIZE)
+ *
+ * Um registro só é anexado depois do force() do destino, e o journal recebe
+ * force() em seguida: todo bloco listado está em disco. Um registro truncado
+ * por queda de energia é simplesmente ignorado na leitura.
+ */
+final class CopyJournal implements AutoCloseable {
+
+    static final String JOURNAL_EXTENSION = ".journal";
+    static final int BLOCK_SIZE = 8 * 1024 * 1024; // 8 MiB por checkpoint
+
+    private static final int MAGIC = 0x42534A31; // "BSJ1"
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+    private static final int RECORD_SIZE = 4;
+
+    private final FileChannel channel;
+    private final int[] checksums;
+    private int committedBlocks;
+
+    private CopyJournal(FileChannel channel, int[] checksums, int committedBlocks) {
+        this.channel = channel;
+        this.checksums = checksums;
+        this.committedBlocks = committedBlocks;
+    }
+
+    /**
+     * CAMINHO DO JOURNAL CORRESPONDENTE AO DESTINO
+     */
+    static File journalFile(String destFile) {
+        return new File(destFile + JOURNAL_EXTENSION);
+    }
+
+    /**
+     * ABRE O JOURNAL EXISTENTE OU CRIA UM NOVO
+     * Um journal de outra fonte (tamanho ou data de modificação diferentes),
+     * de outro tamanho de bloco ou ilegível é descartado: a cópia recomeça do
+     * início.
+     *
+     * @return CopyJournal - com os blocos já confirmados carregados
+     */
+    static CopyJournal open(String sourceFile, String destFile) throws IOException {
+        Path source = Paths.get(sourceFile);
+        long sourceSize = Files.size(source);
+        long sourceModified = Files.getLastModifiedTime(source).toMillis();
+        int totalBlocks = (int) ((sourceSize + BLOCK_SIZE - 1) / BLOCK_SIZE);
+
+        FileChannel channel = FileChannel.open(journalFile(destFile).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            int[] checksums = new int[totalBlocks];
+            int committed = readRecords(channel, sourceSize, sourceModified, checksums);
+            if (committed < 0) {
+                // JOURNAL NOVO OU INCOMPATÍVEL - reescreve o cabeçalho
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(BLOCK_SIZE).putLong(sourceSize).putLong(sourceModified).flip();
+                channel.truncate(0);
+                writeFully(channel, header, 0);
+                channel.force(false);
+                committed = 0;
+            }
+            return new CopyJournal(channel, checksums, committed);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * LÊ OS REGISTROS DE UM JOURNAL EXISTENTE
+     *
+     * @return int - blocos confirmados, ou -1 se o journal não corresponde à fonte
+     */
+    private static int readRecords(FileChannel channel, long sourceSize, long sourceModified, int[] checksums)
+            throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        readFully(channel, header, 0);
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != BLOCK_SIZE || header.getLong() != sourceSize
+                || header.getLong() != sourceModified) {
+            return -1;
+        }
+
+        int records = (int) Math.min(checksums.length, (channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        ByteBuffer body = ByteBuffer.allocate(records * RECORD_SIZE);
+        readFully(channel, body, HEADER_SIZE);
+        body.flip();
+        for (int i = 0; i < records; i++) {
+            checksums[i] = body.getInt();
+        }
+        return records;
+    }
+
+    /**
+     * REGISTRA UM BLOCO - o destino já deve ter recebido force()
+     */
+    void commit(int block, int checksum) throws IOException {
+        if (block != committedBlocks) {
+            throw new IllegalStateException("Bloco fora de ordem: " + block + " (esperado " + committedBlocks + ")");
+        }
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        record.putInt(checksum).flip();
+        writeFully(channel, record, HEADER_SIZE + (long) block * RECORD_SIZE);
+        channel.force(false);
+
+        checksums[block] = checksum;
+        committedBlocks++;
+    }
+
+    /**
+     * DESCARTA OS BLOCOS A PARTIR DE block (ex: falharam na verificação da cauda)
+     */
+    void rollback(int block) throws IOException {
+        if (block < committedBlocks) {
+            channel.truncate(HEADER_SIZE + (long) block * RECORD_SIZE);
+            channel.force(false);
+            committedBlocks = block;
+        }
+    }
+
+    int committedBlocks() {
+        return committedBlocks;
+    }
+
+    int checksum(int block) {
+        return checksums[block];
+    }
+
+    /**
+     * OFFSET ATÉ O QUAL O DESTINO ESTÁ CONFIRMADO
+     */
+    long committedOffset(long sourceSize) {
+        return Math.min(sourceSize, (long) committedBlocks * BLOCK_SIZE);
+    }
+
+    /**
+     * CÓPIA CONCLUÍDA - o journal não é mais necessário
+     */
+    void delete(String destFile) throws IOException {
+        close();
+        Files.deleteIfExists(journalFile(destFile).toPath());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long readPosition = position;
+        while (buffer.hasRemaining()) {
+            int bytesRead = channel.read(buffer, readPosition);
+            if (bytesRead < 0) {
+                throw new IOException("Journal truncado na posição " + readPosition);
+            }
+            readPosition += bytesRead;
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long writePosition = position;
+        while (buffer.hasRemaining()) {
+            writePosition += channel.write(buffer, writePosition);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/**
+ * ENUM: CopyMode
+ * DESCRIÇÃO: Estratégias de cópia disponíveis para o ByteStreamExample.
+ * Cada modo corresponde a um motor de cópia (CopyEngine) e pode ser
+ * selecionado pela linha de comando com --mode=NOME. AUTO delega a escolha
+ * ao CopyStrategySelector.
+ */
+enum CopyMode {
+
+    AUTO("auto", "CÓPIA COM ESTRATÉGIA AUTOMÁTICA"),
+    BYTE("byte", "CÓPIA BYTE-A-BYTE"),
+    BUFFERED("buffered", "CÓPIA EM BLOCOS COM BUFFER"),
+    TRANSFER("transfer", "CÓPIA ZERO-COPY (transferTo)"),
+    MMAP("mmap", "CÓPIA POR MAPEAMENTO DE MEMÓRIA"),
+    PARALLEL("parallel", "CÓPIA PARALELA EM FAIXAS"),
+    KERNEL("kernel", "CÓPIA NO KERNEL (copy_file_range/sendfile)"),
+    IO_URING("io_uring", "CÓPIA ASSÍNCRONA VIA io_uring"),
+    PIPELINE("pipeline", "CÓPIA EM PIPELINE (LEITORA/ESCRITORA)"),
+    ASYNC("async", "CÓPIA ASSÍNCRONA (AsynchronousFileChannel)"),
+    DIRECT("direct", "CÓPIA COM DIRECT I/O (SEM PAGE CACHE)"),
+    SPARSE("sparse", "CÓPIA ESPARSA (PRESERVA BURACOS)"),
+    RESUMABLE("resumable", "CÓPIA RETOMÁVEL (JOURNAL DE CHECKPOINTS)");
+
+    private final String argumentName;
+    private final String description;
+
+    CopyMode(String argumentName, String description) {
+        this.argumentName = argumentName;
+        this.description = description;
+    }
+
+    /**
+     * NOME USADO NA LINHA DE COMANDO (ex: --mode=buffered)
+     */
+    String argumentName() {
+        return argumentName;
+    }
+
+    /**
+     * DESCRIÇÃO USADA NOS CABEÇALHOS DE FASE
+     */
+    String description() {
+        return description;
+    }
+
+    /**
+     * CONVERTE O ARGUMENTO DA LINHA DE COMANDO NO MODO CORRESPONDENTE
+     *
+     * @throws IllegalArgumentException - se o nome não corresponder a nenhum modo
+     */
+    static CopyMode fromArgument(String name) {
+        for (CopyMode mode : values()) {
+            if (mode.argumentName.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Modo de cópia desconhecido: " + name);
+    }
+}
@@ -0,0 +1,469 @@
+/**
+ * CLASSE: CopyOptions
+ * DESCRIÇÃO: Configuração de uma execução do ByteStreamExample, construída a
+ * partir dos argumentos da linha de comando.
+ *
+ * FORMATO DOS ARGUMENTOS:
+ * - Argumentos posicionais: [arquivoFonte] [arquivoDestino]
+ * - Opções nomeadas: --chave=valor (ex: --mode=buffered --buffer-size=64K)
+ *
+ * Tamanhos aceitam os sufixos K, M e G (potências de 1024).
+ */
+class CopyOptions {
+
+    // LIMITES DO BUFFER DE CÓPIA EM BLOCOS
+    static final int MIN_BUFFER_SIZE = 8 * 1024; // 8 KiB
+    static final int MAX_BUFFER_SIZE = 4 * 1024 * 1024; // 4 MiB
+    static final int DEFAULT_BUFFER_SIZE = 64 * 1024; // 64 KiB
+
+    // LIMITES DA JANELA DE MAPEAMENTO (--mode=mmap)
+    static final long MIN_MMAP_WINDOW = 1024 * 1024; // 1 MiB
+    static final long MAX_MMAP_WINDOW = 1024L * 1024 * 1024; // 1 GiB
+    static final long DEFAULT_MMAP_WINDOW = 64L * 1024 * 1024; // 64 MiB
+
+    // LIMITES DA CÓPIA PARALELA (--mode=parallel)
+    static final int MAX_THREADS = 256;
+    static final long MIN_CHUNK_SIZE = 1024 * 1024; // 1 MiB
+    static final long MAX_CHUNK_SIZE = 1024L * 1024 * 1024; // 1 GiB
+    static final long DEFAULT_CHUNK_SIZE = 64L * 1024 * 1024; // 64 MiB
+
+    // LIMITES DO io_uring (--mode=io_uring)
+    static final int MAX_QUEUE_DEPTH = 4096;
+    static final int DEFAULT_QUEUE_DEPTH = 64;
+    static final int DEFAULT_IO_BUFFERS = 16;
+
+    // LIMITES DO POOL DE BUFFERS (--mode=pipeline)
+    static final int MIN_POOL_SIZE = 2;
+    static final int MAX_POOL_SIZE = 1024;
+    static final int DEFAULT_POOL_SIZE = 4;
+
+    // LEITURAS ADIANTADAS (--mode=async)
+    static final int MAX_READ_AHEAD = 256;
+    static final int DEFAULT_READ_AHEAD = 4;
+
+    // VERIFICAÇÃO POR AMOSTRAGEM (--verify=sample)
+    static final int MAX_SAMPLES = 1_000_000;
+    static final int DEFAULT_SAMPLES = 256;
+
+    // GERAÇÕES DE BACKUP (--backup-generations, 0 = um único .backup)
+    static final int MAX_BACKUP_GENERATIONS = 100;
+    static final int DEFAULT_BACKUP_COMPRESSION = 6;
+
+    // INTERVALO DO RELATÓRIO DE PROGRESSO EM MILISSEGUNDOS (0 = desativado)
+    static final int MIN_PROGRESS_INTERVAL = 50;
+    static final int MAX_PROGRESS_INTERVAL = 60_000;
+    static final int DEFAULT_PROGRESS_INTERVAL = 1000;
+
+    private static final String DEFAULT_SOURCE_FILE = "src/source.txt";
+    private static final String DEFAULT_DEST_FILE = "src/dest.txt";
+
+    private String sourceFile = DEFAULT_SOURCE_FILE;
+    private String destFile = DEFAULT_DEST_FILE;
+    private CopyMode mode = CopyMode.AUTO;
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private long mmapWindow = DEFAULT_MMAP_WINDOW;
+    private boolean mmapDestination = false;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private long chunkSize = DEFAULT_CHUNK_SIZE;
+    private int queueDepth = DEFAULT_QUEUE_DEPTH;
+    private int ioBuffers = DEFAULT_IO_BUFFERS;
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private int readAhead = DEFAULT_READ_AHEAD;
+    private boolean kernelHints = false;
+    private CopyChecksum.Algorithm checksumAlgorithm = CopyChecksum.Algorithm.CRC32C;
+    private VerifyMode verifyMode = VerifyMode.CHECKSUM;
+    private int samples = DEFAULT_SAMPLES;
+    private BackupStrategy backupStrategy = BackupStrategy.LINK;
+    private boolean skipIdentical = true;
+    private int backupGenerations = 0;
+    private int backupCompression = DEFAULT_BACKUP_COMPRESSION;
+    private boolean atomic = false;
+    private Durability durability = Durability.NONE;
+    private int progressInterval = DEFAULT_PROGRESS_INTERVAL;
+    private LogLevel logLevel = LogLevel.NORMAL;
+
+    private CopyOptions() {
+    }
+
+    /**
+     * INTERPRETA OS ARGUMENTOS DA LINHA DE COMANDO
+     *
+     * @param args - argumentos recebidos pelo main
+     * @return CopyOptions - configuração validada
+     * @throws IllegalArgumentException - se alguma opção for inválida
+     */
+    static CopyOptions fromArguments(String[] args) {
+        CopyOptions options = new CopyOptions();
+        int positional = 0;
+
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                if (positional == 0) {
+                    options.sourceFile = arg;
+                } else if (positional == 1) {
+                    options.destFile = arg;
+                } else {
+                    throw new IllegalArgumentException("Argumento inesperado: " + arg);
+                }
+                positional++;
+                continue;
+            }
+
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Opção sem valor (use --chave=valor): " + arg);
+            }
+            String key = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+
+            switch (key) {
+                case "mode":
+                    options.mode = CopyMode.fromArgument(value);
+                    break;
+                case "buffer-size":
+                    options.bufferSize = (int) parseSize(value, MIN_BUFFER_SIZE, MAX_BUFFER_SIZE, key);
+                    break;
+                case "mmap-window":
+                    options.mmapWindow = parseSize(value, MIN_MMAP_WINDOW, MAX_MMAP_WINDOW, key);
+                    break;
+                case "mmap-dest":
+                    options.mmapDestination = parseBoolean(value, key);
+                    break;
+                case "threads":
+                    options.threads = parseInt(value, 1, MAX_THREADS, key);
+                    break;
+                case "chunk-size":
+                    options.chunkSize = parseSize(value, MIN_CHUNK_SIZE, MAX_CHUNK_SIZE, key);
+                    break;
+                case "queue-depth":
+                    options.queueDepth = parseInt(value, 1, MAX_QUEUE_DEPTH, key);
+                    break;
+                case "io-buffers":
+                    options.ioBuffers = parseInt(value, 1, MAX_QUEUE_DEPTH, key);
+                    break;
+                case "pool-size":
+                    options.poolSize = parseInt(value, MIN_POOL_SIZE, MAX_POOL_SIZE, key);
+                    break;
+                case "read-ahead":
+                    options.readAhead = parseInt(value, 1, MAX_READ_AHEAD, key);
+                    break;
+                case "hints":
+                    options.kernelHints = parseBoolean(value, key);
+                    break;
+                case "checksum":
+                    options.checksumAlgorithm = CopyChecksum.Algorithm.fromArgument(value);
+                    break;
+                case "verify":
+                    options.verifyMode = VerifyMode.fromArgument(value);
+                    break;
+                case "samples":
+                    options.samples = parseInt(value, 1, MAX_SAMPLES, key);
+                    break;
+                case "backup":
+                    options.backupStrategy = BackupStrategy.fromArgument(value);
+                    break;
+                case "skip-identical":
+                    options.skipIdentical = parseBoolean(value, key);
+                    break;
+                case "backup-generations":
+                    options.backupGenerations = parseInt(value, 0, MAX_BACKUP_GENERATIONS, key);
+                    break;
+                case "backup-compression":
+                    options.backupCompression = parseInt(value, 0, 9, key);
+                    break;
+                case "atomic":
+                    options.atomic = parseBoolean(value, key);
+                    break;
+                case "durability":
+                    options.durability = Durability.fromArgument(value);
+                    break;
+                case "log":
+                    options.logLevel = LogLevel.fromArgument(value);
+                    break;
+                case "progress-interval":
+                    options.progressInterval = parseInt(value, 0, MAX_PROGRESS_INTERVAL, key);
+                    if (options.progressInterval > 0 && options.progressInterval < MIN_PROGRESS_INTERVAL) {
+                        throw new IllegalArgumentException("--progress-interval deve ser 0 ou pelo menos "
+                                + MIN_PROGRESS_INTERVAL + " ms");
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: --" + key);
+            }
+        }
+
+        // CADA BUFFER TEM NO MÁXIMO UMA OPERAÇÃO EM VOO - a fila precisa comportar todos
+        if (options.ioBuffers > options.queueDepth) {
+            throw new IllegalArgumentException("--io-buffers (" + options.ioBuffers
+                    + ") não pode exceder --queue-depth (" + options.queueDepth + ")");
+        }
+
+        return options;
+    }
+
+    /**
+     * CONVERTE UM TAMANHO COM SUFIXO (K, M, G) EM BYTES E VALIDA OS LIMITES
+     */
+    static long parseSize(String value, long min, long max, String optionName) {
+        String normalized = value.trim().toUpperCase();
+        long multiplier = 1;
+
+        if (normalized.endsWith("K")) {
+            multiplier = 1024L;
+        } else if (normalized.endsWith("M")) {
+            multiplier = 1024L * 1024;
+        } else if (normalized.endsWith("G")) {
+            multiplier = 1024L * 1024 * 1024;
+        }
+        if (multiplier > 1) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        long size;
+        try {
+            size = Long.parseLong(normalized) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Tamanho inválido para --" + optionName + ": " + value);
+        }
+
+        if (size < min || size > max) {
+            throw new IllegalArgumentException("--" + optionName + " deve estar entre "
+                    + formatSize(min) + " e " + formatSize(max) + " (recebido: " + value + ")");
+        }
+        return size;
+    }
+
+    /**
+     * CONVERTE UM INTEIRO E VALIDA OS LIMITES
+     */
+    static int parseInt(String value, int min, int max, String optionName) {
+        int number;
+        try {
+            number = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Número inválido para --" + optionName + ": " + value);
+        }
+
+        if (number < min || number > max) {
+            throw new IllegalArgumentException("--" + optionName + " deve estar entre " + min + " e " + max
+                    + " (recebido: " + value + ")");
+        }
+        return number;
+    }
+
+    /**
+     * CONVERTE "true"/"false" (ou "yes"/"no") EM BOOLEAN
+     */
+    static boolean parseBoolean(String value, String optionName) {
+        switch (value.trim().toLowerCase()) {
+            case "true":
+            case "yes":
+                return true;
+            case "false":
+            case "no":
+                return false;
+            default:
+                throw new IllegalArgumentException("Valor booleano inválido para --" + optionName + ": " + value);
+        }
+    }
+
+    /**
+     * FORMATA UM TAMANHO EM BYTES NA MAIOR UNIDADE EXATA (ex: 65536 -> 64 KiB)
+     */
+    static String formatSize(long bytes) {
+        if (bytes >= 1024L * 1024 * 1024 && bytes % (1024L * 1024 * 1024) == 0) {
+            return (bytes / (1024L * 1024 * 1024)) + " GiB";
+        }
+        if (bytes >= 1024L * 1024 && bytes % (1024L * 1024) == 0) {
+            return (bytes / (1024L * 1024)) + " MiB";
+        }
+        if (bytes >= 1024 && bytes % 1024 == 0) {
+            return (bytes / 1024) + " KiB";
+        }
+        return bytes + " bytes";
+    }
+
+    /**
+     * TEXTO DE AJUDA EXIBIDO QUANDO OS ARGUMENTOS SÃO INVÁLIDOS - a sintaxe
+     * seguida de uma linha por valor das opções de escolha, com a descrição
+     * do próprio enum
+     */
+    static String usage() {
+        StringBuilder modes = new StringBuilder();
+        for (CopyMode mode : CopyMode.values()) {
+            appendName(modes, mode.argumentName());
+        }
+        StringBuilder verifyModes = new StringBuilder();
+        StringBuilder choices = new StringBuilder();
+        for (VerifyMode verify : VerifyMode.values()) {
+            appendName(verifyModes, verify.argumentName());
+            appendChoice(choices, "--verify=" + verify.argumentName(), verify.description());
+        }
+        StringBuilder strategies = new StringBuilder();
+        for (BackupStrategy strategy : BackupStrategy.values()) {
+            appendName(strategies, strategy.argumentName());
+            appendChoice(choices, "--backup=" + strategy.argumentName(), strategy.description());
+        }
+        StringBuilder durabilities = new StringBuilder();
+        for (Durability durability : Durability.values()) {
+            appendName(durabilities, durability.argumentName());
+            appendChoice(choices, "--durability=" + durability.argumentName(), durability.description());
+        }
+        StringBuilder levels = new StringBuilder();
+        for (LogLevel level : LogLevel.values()) {
+            appendName(levels, level.argumentName());
+            appendChoice(choices, "--log=" + level.argumentName(), level.description());
+        }
+        return "Uso: java ByteStreamExample [fonte] [destino] [--mode=" + modes + "]"
+                + " [--buffer-size=8K..4M] [--mmap-window=1M..1G] [--mmap-dest=true|false]"
+                + " [--threads=1..256] [--chunk-size=1M..1G]"
+                + " [--queue-depth=1..4096] [--io-buffers=1..queue-depth] [--pool-size=2..1024]"
+                + " [--read-ahead=1..256] [--hints=true|false]"
+                + " [--checksum=crc32c|sha256|none] [--verify=" + verifyModes + "]"
+                + " [--samples=1..1000000] [--backup=" + strategies + "]"
+                + " [--skip-identical=true|false] [--backup-generations=0..100] [--backup-compression=0..9]"
+                + " [--atomic=true|false] [--durability=" + durabilities + "] [--progress-interval=0|50..60000]"
+                + " [--log=" + levels + "]"
+                + choices;
+    }
+
+    private static void appendName(StringBuilder names, String name) {
+        if (names.length() > 0) {
+            names.append('|');
+        }
+        names.append(name);
+    }
+
+    private static void appendChoice(StringBuilder choices, String option, String description) {
+        choices.append(String.format("%n  %-18s %s", option, description));
+    }
+
+    String sourceFile() {
+        return sourceFile;
+    }
+
+    String destFile() {
+        return destFile;
+    }
+
+    CopyMode mode() {
+        return mode;
+    }
+
+    int bufferSize() {
+        return bufferSize;
+    }
+
+    long mmapWindow() {
+        return mmapWindow;
+    }
+
+    boolean mmapDestination() {
+        return mmapDestination;
+    }
+
+    int threads() {
+        return threads;
+    }
+
+    long chunkSize() {
+        return chunkSize;
+    }
+
+    int queueDepth() {
+        return queueDepth;
+    }
+
+    int ioBuffers() {
+        return ioBuffers;
+    }
+
+    int poolSize() {
+        return poolSize;
+    }
+
+    int readAhead() {
+        return readAhead;
+    }
+
+    /**
+     * true QUANDO fallocate/posix_fadvise DEVEM SER APLICADOS (ver CopyHints)
+     */
+    boolean kernelHints() {
+        return kernelHints;
+    }
+
+    CopyChecksum.Algorithm checksumAlgorithm() {
+        return checksumAlgorithm;
+    }
+
+    /**
+     * COMO O DESTINO É RELIDO NA VERIFICAÇÃO PÓS-CÓPIA
+     */
+    VerifyMode verifyMode() {
+        return verifyMode;
+    }
+
+    /**
+     * BLOCOS SORTEADOS EM --verify=sample (além do primeiro e do último)
+     */
+    int samples() {
+        return samples;
+    }
+
+    /**
+     * COMO O DESTINO EXISTENTE É PRESERVADO (ver StagedDestination)
+     */
+    BackupStrategy backupStrategy() {
+        return backupStrategy;
+    }
+
+    /**
+     * true QUANDO UM DESTINO IDÊNTICO À FONTE DISPENSA BACKUP E CÓPIA
+     */
+    boolean skipIdentical() {
+        return skipIdentical;
+    }
+
+    /**
+     * GERAÇÕES ROTATIVAS DE BACKUP (0 = um único .backup, ver BackupRotation)
+     */
+    int backupGenerations() {
+        return backupGenerations;
+    }
+
+    /**
+     * NÍVEL DO Deflater PARA AS GERAÇÕES (0 = sem compressão)
+     */
+    int backupCompression() {
+        return backupCompression;
+    }
+
+    /**
+     * true QUANDO A CÓPIA ESCREVE EM UM TEMPORÁRIO RENOMEADO NO FINAL
+     */
+    boolean atomic() {
+        return atomic;
+    }
+
+    /**
+     * SINCRONIZAÇÃO DO DESTINO COM O DISCO ANTES DA TROCA (ver FileSync)
+     */
+    Durability durability() {
+        return durability;
+    }
+
+    /**
+     * MILISSEGUNDOS ENTRE AMOSTRAS DO PROGRESSO (0 = sem relatório, ver CopyProgress)
+     */
+    int progressInterval() {
+        return progressInterval;
+    }
+
+    /**
+     * QUANTIDADE DE MENSAGENS NO CONSOLE (ver ConsoleLog)
+     */
+    LogLevel logLevel() {
+        return logLevel;
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * CLASSE: CopyProgress
+ * DESCRIÇÃO: Acompanhamento do progresso da cópia. Os motores apenas somam
+ * os bytes transferidos em um contador atômico; uma thread agendada
+ * (--progress-interval) lê o contador em intervalos fixos de tempo e imprime
+ * a vazão instantânea, a média móvel exponencial (EWMA) e o tempo restante.
+ * Com --log=quiet a thread nem é iniciada.
+ *
+ * CUSTO NO LAÇO DE CÓPIA: um addAndGet por chamada - nenhuma formatação ou
+ * escrita no console acontece na thread do motor, qualquer que seja o
+ * tamanho do bloco (inclusive o modo byte-a-byte).
+ *
+ * Seguro para uso concorrente: motores paralelos agregam o progresso de
+ * todos os workers na mesma instância. O estado da média só é tocado pela
+ * thread do relatório.
+ */
+class CopyProgress {
+
+    // CONSTANTE DE TEMPO DA EWMA - amostras mais antigas que ~3 s pesam pouco
+    private static final double EWMA_TIME_CONSTANT_SECONDS = 3.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024;
+
+    private final long intervalMillis;
+    private final AtomicLong totalBytes = new AtomicLong();
+    private volatile LongConsumer listener;
+
+    private ScheduledExecutorService reporter;
+    private long expectedBytes;
+
+    // ESTADO DA THREAD DO RELATÓRIO
+    private long lastSampleBytes;
+    private long lastSampleNanos;
+    private double smoothedBytesPerSecond = -1;
+
+    /**
+     * @param intervalMillis - intervalo entre amostras (0 = sem relatório)
+     */
+    CopyProgress(long intervalMillis) {
+        this.intervalMillis = intervalMillis;
+    }
+
+    /**
+     * REGISTRA BYTES TRANSFERIDOS - roda na thread do motor de cópia
+     */
+    void advance(long bytes) {
+        long total = totalBytes.addAndGet(bytes);
+
+        LongConsumer currentListener = listener;
+        if (currentListener != null) {
+            currentListener.accept(total);
+        }
+    }
+
+    /**
+     * REGISTRA UM OUVINTE CHAMADO A CADA AVANÇO COM O TOTAL ACUMULADO
+     * (ex: CopyHints). Deve ser barato - roda na thread do motor de cópia.
+     */
+    void setListener(LongConsumer listener) {
+        this.listener = listener;
+    }
+
+    long totalBytes() {
+        return totalBytes.get();
+    }
+
+    /**
+     * INICIA A THREAD DO RELATÓRIO
+     *
+     * @param expectedBytes - tamanho esperado da cópia, base do percentual e do ETA
+     */
+    synchronized void start(long expectedBytes) {
+        if (intervalMillis <= 0 || reporter != null || !ConsoleLog.enabled(LogLevel.NORMAL)) {
+            return;
+        }
+        this.expectedBytes = expectedBytes;
+        this.lastSampleBytes = totalBytes.get();
+        this.lastSampleNanos = System.nanoTime();
+
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "copy-progress");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::sample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * ENCERRA A THREAD DO RELATÓRIO - aguarda uma amostra em andamento para
+     * que nenhuma linha de progresso apareça depois do fim da cópia
+     */
+    synchronized void stop() {
+        if (reporter == null) {
+            return;
+        }
+        reporter.shutdownNow();
+        try {
+            reporter.awaitTermination(intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        reporter = null;
+    }
+
+    /**
+     * AMOSTRA PERIÓDICA - vazão instantânea, EWMA e ETA
+     */
+    private void sample() {
+        long now = System.nanoTime();
+        long total = totalBytes.get();
+        double elapsedSeconds = (now - lastSampleNanos) / 1e9;
+        if (elapsedSeconds <= 0) {
+            return;
+        }
+
+        double instantBytesPerSecond = (total - lastSampleBytes) / elapsedSeconds;
+        if (smoothedBytesPerSecond < 0) {
+            smoothedBytesPerSecond = instantBytesPerSecond;
+        } else {
+            // PESO PROPORCIONAL AO TEMPO DECORRIDO - atrasos do agendador não distorcem a média
+            double alpha = 1 - Math.exp(-elapsedSeconds / EWMA_TIME_CONSTANT_SECONDS);
+            smoothedBytesPerSecond += alpha * (instantBytesPerSecond - smoothedBytesPerSecond);
+        }
+        lastSampleBytes = total;
+        lastSampleNanos = now;
+
+        // FORMATADO DIRETO NO BUFFER DO ConsoleLog - sem String.format a cada amostra
+        try (ConsoleLog.Line line = ConsoleLog.line(LogLevel.NORMAL)) {
+            line.append("    Progresso: ").appendGrouped(total).append(" bytes");
+            if (expectedBytes > 0) {
+                line.append(" (").appendFixed(100.0 * Math.min(total, expectedBytes) / expectedBytes, 1).append("%)");
+            }
+            line.append(" | Instantânea: ").appendFixed(instantBytesPerSecond / BYTES_PER_MB, 1)
+                    .append(" MB/s | EWMA: ").appendFixed(smoothedBytesPerSecond / BYTES_PER_MB, 1).append(" MB/s");
+            if (expectedBytes > 0) {
+                line.append(" | ETA: ");
+                if (smoothedBytesPerSecond > 0) {
+                    line.appendFixed(Math.max(0, expectedBytes - total) / smoothedBytesPerSecond, 1).append(" s");
+                } else {
+                    line.append("indeterminado");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * CLASSE: CopyStrategySelector
+ * DESCRIÇÃO: Seleção automática do motor de cópia (--mode=auto). A decisão
+ * considera o tamanho da fonte, se fonte e destino estão no mesmo sistema de
+ * arquivos e o tipo do sistema de arquivos lido de /proc/mounts.
+ *
+ * REGRAS (na ordem em que são avaliadas):
+ * 1. Arquivos minúsculos: byte - uma única página, o custo é irrelevante
+ * 2. Até ByteStreamExample.LARGE_FILE_THRESHOLD: buffered - poucas chamadas,
+ *    sem setup extra
+ * 3. Sistemas de arquivos de rede/FUSE: buffered, ou parallel acima de
+ *    PARALLEL_THRESHOLD para manter várias requisições em voo; mmap e
+ *    transferTo são evitados (SIGBUS em truncamento remoto, fallback lento)
+ * 4. Mesmo sistema de arquivos local: transfer - o kernel copia sem passar
+ *    pelo espaço de usuário (e pode usar reflink em btrfs/xfs)
+ * 5. Sistemas de arquivos diferentes: parallel acima de PARALLEL_THRESHOLD
+ *    quando há mais de uma thread, senão mmap
+ */
+class CopyStrategySelector {
+
+    static final long BYTE_MODE_MAX_SIZE = 4 * 1024; // 4 KiB
+    static final long PARALLEL_THRESHOLD = 1024L * 1024 * 1024; // 1 GiB
+
+    private static final Path PROC_MOUNTS = Paths.get("/proc/mounts");
+    private static final String UNKNOWN_FILESYSTEM = "desconhecido";
+
+    /**
+     * RESULTADO DA SELEÇÃO - modo escolhido e justificativa para o relatório
+     */
+    static final class Decision {
+        private final CopyMode mode;
+        private final String reason;
+        private final String sourceFilesystem;
+        private final String destFilesystem;
+        private final boolean sameFilesystem;
+
+        Decision(CopyMode mode, String reason, String sourceFilesystem, String destFilesystem,
+                boolean sameFilesystem) {
+            this.mode = mode;
+            this.reason = reason;
+            this.sourceFilesystem = sourceFilesystem;
+            this.destFilesystem = destFilesystem;
+            this.sameFilesystem = sameFilesystem;
+        }
+
+        CopyMode mode() {
+            return mode;
+        }
+
+        String reason() {
+            return reason;
+        }
+
+        String sourceFilesystem() {
+            return sourceFilesystem;
+        }
+
+        String destFilesystem() {
+            return destFilesystem;
+        }
+
+        boolean sameFilesystem() {
+            return sameFilesystem;
+        }
+    }
+
+    private CopyStrategySelector() {
+    }
+
+    /**
+     * ESCOLHE O MOTOR DE CÓPIA PARA O PAR FONTE/DESTINO
+     *
+     * @param sourceFile - arquivo fonte (deve existir)
+     * @param destFile   - arquivo destino (pode ainda não existir)
+     * @param threads    - threads disponíveis para o modo parallel
+     */
+    static Decision select(String sourceFile, String destFile, int threads) {
+        Path source = Paths.get(sourceFile).toAbsolutePath();
+        Path dest = Paths.get(destFile).toAbsolutePath();
+        long size = source.toFile().length();
+
+        String sourceType = filesystemType(source);
+        String destType = filesystemType(dest);
+        boolean sameFilesystem = sameDevice(source, dest);
+        String filesystems = sourceType + " -> " + destType;
+
+        CopyMode mode;
+        String reason;
+
+        if (size <= BYTE_MODE_MAX_SIZE) {
+            mode = CopyMode.BYTE;
+            reason = "arquivo pequeno (" + size + " bytes <= " + CopyOptions.formatSize(BYTE_MODE_MAX_SIZE) + ")";
+        } else if (size <= ByteStreamExample.LARGE_FILE_THRESHOLD) {
+            mode = CopyMode.BUFFERED;
+            reason = "arquivo até " + CopyOptions.formatSize(ByteStreamExample.LARGE_FILE_THRESHOLD)
+                    + ", cópia em blocos basta";
+        } else if (isRemoteFilesystem(sourceType) || isRemoteFilesystem(destType)) {
+            if (size >= PARALLEL_THRESHOLD && threads > 1) {
+                mode = CopyMode.PARALLEL;
+                reason = "sistema de arquivos de rede (" + filesystems + "), várias requisições em paralelo";
+            } else {
+                mode = CopyMode.BUFFERED;
+                reason = "sistema de arquivos de rede (" + filesystems + "), mmap/transferTo evitados";
+            }
+        } else if (sameFilesystem) {
+            mode = CopyMode.TRANSFER;
+            reason = "mesmo sistema de arquivos (" + sourceType + "), cópia dentro do kernel";
+        } else if (size >= PARALLEL_THRESHOLD && threads > 1) {
+            mode = CopyMode.PARALLEL;
+            reason = "sistemas de arquivos diferentes (" + filesystems + ") e arquivo acima de "
+                    + CopyOptions.formatSize(PARALLEL_THRESHOLD);
+        } else {
+            mode = CopyMode.MMAP;
+            reason = "sistemas de arquivos diferentes (" + filesystems + "), arquivo acima de "
+                    + CopyOptions.formatSize(ByteStreamExample.LARGE_FILE_THRESHOLD);
+        }
+
+        return new Decision(mode, reason, sourceType, destType, sameFilesystem);
+    }
+
+    /**
+     * SISTEMAS DE ARQUIVOS REMOTOS OU EM ESPAÇO DE USUÁRIO
+     */
+    private static boolean isRemoteFilesystem(String type) {
+        return type.startsWith("nfs") || type.startsWith("cifs") || type.startsWith("smb")
+                || type.startsWith("fuse") || type.equals("9p") || type.equals("ceph")
+                || type.equals("glusterfs") || type.equals("sshfs");
+    }
+
+    /**
+     * COMPARA O DISPOSITIVO (st_dev) DA FONTE COM O DO DIRETÓRIO DO DESTINO
+     */
+    private static boolean sameDevice(Path source, Path dest) {
+        try {
+            Object sourceDevice = Files.getAttribute(source, "unix:dev");
+            Object destDevice = Files.getAttribute(existingAncestor(dest), "unix:dev");
+            return sourceDevice.equals(destDevice);
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // Sem atributos unix (ex: Windows) - compara os FileStores
+            try {
+                return Files.getFileStore(source).equals(Files.getFileStore(existingAncestor(dest)));
+            } catch (IOException storeException) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * TIPO DO SISTEMA DE ARQUIVOS QUE CONTÉM O CAMINHO, SEGUNDO /proc/mounts
+     * O ponto de montagem mais longo que é prefixo do caminho real vence.
+     */
+    static String filesystemType(Path path) {
+        List<String> mounts;
+        Path realPath;
+        try {
+            mounts = Files.readAllLines(PROC_MOUNTS, StandardCharsets.UTF_8);
+            realPath = existingAncestor(path).toRealPath();
+        } catch (IOException e) {
+            return UNKNOWN_FILESYSTEM;
+        }
+
+        String type = UNKNOWN_FILESYSTEM;
+        int bestLength = -1;
+
+        for (String line : mounts) {
+            // FORMATO: dispositivo pontoDeMontagem tipo opções dump pass
+            String[] fields = line.split(" ");
+            if (fields.length < 3) {
+                continue;
+            }
+            Path mountPoint = Paths.get(unescapeMountField(fields[1]));
+            int length = mountPoint.toString().length();
+            if (realPath.startsWith(mountPoint) && length >= bestLength) {
+                type = fields[2];
+                bestLength = length;
+            }
+        }
+        return type;
+    }
+
+    /**
+     * /proc/mounts ESCAPA ESPAÇOS E TABS COMO SEQUÊNCIAS OCTAIS (ex: \040)
+     */
+    private static String unescapeMountField(String field) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 3 < field.length()) {
+                try {
+                    result.append((char) Integer.parseInt(field.substring(i + 1, i + 4), 8));
+                    i += 3;
+                    continue;
+                } catch (NumberFormatException e) {
+                    // não é uma sequência octal - mantém o caractere
+                }
+            }
+            result.append(c);
+        }
+        return result.toString();
+    }
+
+    /**
+     * PRIMEIRO ANCESTRAL EXISTENTE (o destino pode ainda não ter sido criado)
+     */
+    private static Path existingAncestor(Path path) {
+        Path current = path.toAbsolutePath();
+        while (current != null && !Files.exists(current)) {
+            current = current.getParent();
+        }
+        return (current != null) ? current : path.toAbsolutePath().getRoot();
+    }
+}
@@ -0,0 +1,146 @@
+import com.sun.nio.file.ExtendedOpenOption;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * CLASSE: DirectCopyEngine
+ * DESCRIÇÃO: Motor de cópia com Direct I/O (O_DIRECT via
+ * ExtendedOpenOption.DIRECT). Os dados não passam pelo page cache, então a
+ * cópia de backups grandes não expulsa o working set dos outros serviços.
+ *
+ * REQUISITOS DO O_DIRECT:
+ * - Buffer, offset e tamanho de cada operação alinhados ao bloco do
+ *   sistema de arquivos (detectado com FileStore.getBlockSize)
+ * - A cauda não alinhada do arquivo (tamanho % bloco) é escrita pelo canal
+ *   comum da FASE 2, logo após o último bloco completo
+ *
+ * Se o sistema de arquivos recusar O_DIRECT, a cópia segue pelo
+ * BufferedCopyEngine.
+ */
+class DirectCopyEngine implements CopyEngine {
+
+    private final int requestedBufferSize;
+
+    DirectCopyEngine(int requestedBufferSize) {
+        this.requestedBufferSize = requestedBufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "direct (O_DIRECT, buffer de " + CopyOptions.formatSize(requestedBufferSize)
+                + " alinhado ao bloco)";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        Path sourcePath = Paths.get(context.sourceFile());
+        Path destPath = Paths.get(context.destFile());
+
+        int sourceBlock = (int) Files.getFileStore(sourcePath).getBlockSize();
+        int destBlock = (int) Files.getFileStore(destPath).getBlockSize();
+        int blockSize = Math.max(sourceBlock, destBlock);
+        // BUFFER EM MÚLTIPLOS INTEIROS DO BLOCO
+        int bufferSize = Math.max(blockSize, requestedBufferSize / blockSize * blockSize);
+
+        context.addReportNote("Bloco detectado: " + blockSize + " bytes (fonte " + sourceBlock
+                + ", destino " + destBlock + ")");
+
+        FileChannel source;
+        FileChannel target;
+        try {
+            source = FileChannel.open(sourcePath, StandardOpenOption.READ, ExtendedOpenOption.DIRECT);
+        } catch (IOException | UnsupportedOperationException e) {
+            return fallbackToJava(context, "fonte: " + e.getMessage());
+        }
+        try {
+            target = FileChannel.open(destPath, StandardOpenOption.WRITE, ExtendedOpenOption.DIRECT);
+        } catch (IOException | UnsupportedOperationException e) {
+            source.close();
+            return fallbackToJava(context, "destino: " + e.getMessage());
+        }
+
+        try {
+            return copyAligned(context, source, target, blockSize, bufferSize);
+        } finally {
+            target.close();
+            source.close();
+        }
+    }
+
+    /**
+     * COPIA BLOCOS ALINHADOS COM O_DIRECT E A CAUDA PELO CANAL COMUM
+     */
+    private long copyAligned(CopyContext context, FileChannel source, FileChannel target,
+            int blockSize, int bufferSize) throws IOException {
+        CopyProgress progress = context.progress();
+        LatencyHistogram readLatency = context.profiler().readLatency();
+        LatencyHistogram writeLatency = context.profiler().writeLatency();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize + blockSize).alignedSlice(blockSize);
+        buffer.limit(bufferSize);
+        long position = 0;
+        long tailBytes = 0;
+
+        while (true) {
+            buffer.clear().limit(bufferSize);
+            long readStart = System.nanoTime();
+            int bytesRead = source.read(buffer, position);
+            readLatency.record(System.nanoTime() - readStart);
+            if (bytesRead <= 0) {
+                break;
+            }
+            buffer.flip();
+            context.checksum().update(buffer);
+
+            // BLOCOS COMPLETOS - escritos com O_DIRECT
+            int aligned = bytesRead / blockSize * blockSize;
+            if (aligned > 0) {
+                ByteBuffer alignedPart = buffer.duplicate();
+                alignedPart.limit(aligned);
+                long writePosition = position;
+                long writeStart = System.nanoTime();
+                while (alignedPart.hasRemaining()) {
+                    writePosition += target.write(alignedPart, writePosition);
+                }
+                writeLatency.record(System.nanoTime() - writeStart);
+            }
+
+            // CAUDA NÃO ALINHADA - só ocorre no fim do arquivo
+            if (aligned < bytesRead) {
+                ByteBuffer tail = buffer.duplicate();
+                tail.position(aligned);
+                FileChannel bufferedTarget = context.outStream().getChannel();
+                long writePosition = position + aligned;
+                while (tail.hasRemaining()) {
+                    writePosition += bufferedTarget.write(tail, writePosition);
+                }
+                tailBytes = bytesRead - aligned;
+            }
+
+            position += bytesRead;
+            progress.advance(bytesRead);
+
+            if (aligned < bytesRead || context.checkInterrupted()) {
+                break;
+            }
+        }
+
+        context.addReportNote("Buffer O_DIRECT: " + CopyOptions.formatSize(bufferSize)
+                + " | Cauda não alinhada sem O_DIRECT: " + tailBytes + " bytes");
+        return position;
+    }
+
+    /**
+     * CÓPIA PELO CAMINHO JAVA QUANDO O_DIRECT NÃO É SUPORTADO
+     */
+    private long fallbackToJava(CopyContext context, String reason) throws IOException {
+        ConsoleLog.info("   O_DIRECT indisponível (" + reason + "), usando cópia em blocos Java");
+        context.addReportNote("O_DIRECT indisponível: " + reason);
+        context.addReportNote("Caminho Java (buffered) usado como fallback");
+        return new BufferedCopyEngine(requestedBufferSize).copy(context);
+    }
+}
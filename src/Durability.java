@@ -0,0 +1,47 @@
+/**
+ * ENUM: Durability
+ * DESCRIÇÃO: Nível de durabilidade do destino ao final da cópia,
+ * selecionado com --durability=NOME (ver FileSync).
+ */
+enum Durability {
+
+    NONE("none", "sem fsync - os dados ficam no page cache até o writeback do kernel"),
+    DATA("data", "fdatasync do arquivo e fsync do diretório quando um rename ou backup publica os dados"),
+    FULL("full", "fsync do arquivo e do diretório - dados, metadados e o rename sobrevivem a uma queda");
+
+    private final String argumentName;
+    private final String description;
+
+    Durability(String argumentName, String description) {
+        this.argumentName = argumentName;
+        this.description = description;
+    }
+
+    /**
+     * NOME USADO NA LINHA DE COMANDO (ex: --durability=full)
+     */
+    String argumentName() {
+        return argumentName;
+    }
+
+    /**
+     * DESCRIÇÃO EXIBIDA NA AJUDA DE --durability
+     */
+    String description() {
+        return description;
+    }
+
+    /**
+     * CONVERTE O ARGUMENTO DA LINHA DE COMANDO NO NÍVEL CORRESPONDENTE
+     *
+     * @throws IllegalArgumentException - se o nome não corresponder a nenhum nível
+     */
+    static Durability fromArgument(String name) {
+        for (Durability durability : values()) {
+            if (durability.argumentName.equalsIgnoreCase(name)) {
+                return durability;
+            }
+        }
+        throw new IllegalArgumentException("Nível de durabilidade desconhecido: " + name);
+    }
+}
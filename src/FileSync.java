@@ -0,0 +1,105 @@
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * CLASSE: FileSync
+ * DESCRIÇÃO: Sincronizações de disco de uma execução segundo --durability.
+ * O conteúdo de um arquivo é sincronizado na hora (syncFile), antes que
+ * qualquer entrada de diretório passe a apontar para ele. Os diretórios
+ * alterados são registrados à medida que o backup, a rotação de gerações e
+ * a troca do destino acontecem, e sincronizados juntos em flush(), cada um
+ * uma única vez: o hard link (ou a cópia) do backup, os renames da rotação
+ * e o rename do temporário, todos no diretório do destino, custam um único
+ * fsync desse diretório.
+ *
+ * QUANDO O DIRETÓRIO É SINCRONIZADO:
+ * - FULL: sempre que uma entrada foi criada ou renomeada
+ * - DATA: só quando a entrada é o que torna os dados alcançáveis - o rename
+ *   do temporário e os backups; sem isso a cópia "durável" poderia sumir
+ *   numa queda junto com o rename
+ * - NONE: nunca
+ *
+ * A compressão das gerações em segundo plano (ver BackupRotation) termina
+ * depois do último flush e não é sincronizada.
+ */
+final class FileSync {
+
+    private final Durability durability;
+    private final Set<Path> directories = new LinkedHashSet<>();
+
+    private int filesSynced = 0;
+    private int directoriesSynced = 0;
+    private long syncNanos = 0;
+
+    FileSync(Durability durability) {
+        this.durability = durability;
+    }
+
+    Durability durability() {
+        return durability;
+    }
+
+    /**
+     * GRAVA O CONTEÚDO DO ARQUIVO NO DISCO AGORA (sem efeito em NONE)
+     */
+    void syncFile(Path file) throws IOException {
+        if (durability == Durability.NONE) {
+            return;
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            // force(false) = fdatasync; force(true) = fsync (inclui metadados)
+            channel.force(durability == Durability.FULL);
+            filesSynced++;
+        } finally {
+            syncNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * REGISTRA O DIRETÓRIO DE UMA ENTRADA CRIADA OU RENOMEADA
+     *
+     * @param publishesData - true se a entrada é o caminho para dados que
+     *                      precisam sobreviver (rename do temporário, backup)
+     */
+    void addDirectoryOf(Path file, boolean publishesData) {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory == null) {
+            return;
+        }
+        if (durability == Durability.FULL || (durability == Durability.DATA && publishesData)) {
+            directories.add(directory);
+        }
+    }
+
+    /**
+     * SINCRONIZA OS DIRETÓRIOS REGISTRADOS DESDE O ÚLTIMO flush
+     */
+    void flush() throws IOException {
+        long start = System.nanoTime();
+        try {
+            for (Path directory : directories) {
+                // No Linux um diretório aberto para leitura aceita fsync
+                try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                    channel.force(true);
+                }
+                directoriesSynced++;
+            }
+            directories.clear();
+        } finally {
+            syncNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * RESUMO PARA O RELATÓRIO
+     */
+    String summary() {
+        return String.format("%s - %d arquivo(s) e %d diretório(s) sincronizados em %.1f ms",
+                durability.argumentName(), filesSynced, directoriesSynced, syncNanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,306 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.VarHandle;
+
+/**
+ * CLASSE: IoUring
+ * DESCRIÇÃO: Anel io_uring mínimo implementado sobre LinuxNative (FFM), sem
+ * liburing. Cobre apenas o necessário para o IoUringCopyEngine: criação do
+ * anel, registro de buffers fixos, preparação de READ_FIXED/WRITE_FIXED,
+ * submissão e consumo de conclusões.
+ *
+ * LAYOUT (include/uapi/linux/io_uring.h):
+ * - io_uring_params: 120 bytes, com io_sqring_offsets em 40 e
+ *   io_cqring_offsets em 80
+ * - SQE: 64 bytes | CQE: 16 bytes
+ *
+ * ORDENAÇÃO DE MEMÓRIA: as caudas/cabeças compartilhadas com o kernel são
+ * publicadas após VarHandle.releaseFence() e lidas antes de
+ * VarHandle.acquireFence(), equivalente ao smp_store_release/smp_load_acquire
+ * da liburing.
+ */
+final class IoUring implements AutoCloseable {
+
+    // OPCODES E FLAGS
+    static final byte IORING_OP_READ_FIXED = 4;
+    static final byte IORING_OP_WRITE_FIXED = 5;
+    private static final int IORING_ENTER_GETEVENTS = 1;
+    private static final int IORING_REGISTER_BUFFERS = 0;
+    private static final int IORING_UNREGISTER_BUFFERS = 1;
+    private static final int IORING_FEAT_SINGLE_MMAP = 1;
+
+    // OFFSETS DE mmap DO DESCRITOR DO ANEL
+    private static final long IORING_OFF_SQ_RING = 0L;
+    private static final long IORING_OFF_CQ_RING = 0x8000000L;
+    private static final long IORING_OFF_SQES = 0x10000000L;
+
+    // struct io_uring_params
+    private static final long PARAMS_SIZE = 120;
+    private static final long PARAMS_SQ_ENTRIES = 0;
+    private static final long PARAMS_CQ_ENTRIES = 4;
+    private static final long PARAMS_FEATURES = 20;
+    private static final long PARAMS_SQ_OFF = 40;
+    private static final long PARAMS_CQ_OFF = 80;
+
+    // struct io_sqring_offsets / io_cqring_offsets (relativos a PARAMS_*_OFF)
+    private static final long OFF_HEAD = 0;
+    private static final long OFF_TAIL = 4;
+    private static final long OFF_RING_MASK = 8;
+    private static final long SQ_OFF_ARRAY = 24;
+    private static final long CQ_OFF_CQES = 20;
+
+    // struct io_uring_sqe
+    private static final long SQE_SIZE = 64;
+    private static final long SQE_OPCODE = 0;
+    private static final long SQE_FD = 4;
+    private static final long SQE_OFF = 8;
+    private static final long SQE_ADDR = 16;
+    private static final long SQE_LEN = 24;
+    private static final long SQE_USER_DATA = 32;
+    private static final long SQE_BUF_INDEX = 40;
+
+    // struct io_uring_cqe
+    private static final long CQE_SIZE = 16;
+    private static final long CQE_USER_DATA = 0;
+    private static final long CQE_RES = 8;
+
+    // struct iovec
+    private static final long IOVEC_SIZE = 16;
+
+    /**
+     * RECEBE CADA CONCLUSÃO CONSUMIDA DO ANEL
+     */
+    interface CompletionHandler {
+        void onCompletion(long userData, int result) throws IOException;
+    }
+
+    private final Arena arena = Arena.ofConfined();
+    private final int ringFd;
+    private final int sqEntries;
+    private final int cqEntries;
+    private final MemorySegment sqRing;
+    private final MemorySegment cqRing;
+    private final MemorySegment sqes;
+
+    private final long sqHeadOffset;
+    private final long sqTailOffset;
+    private final int sqMask;
+    private final long sqArrayOffset;
+    private final long cqHeadOffset;
+    private final long cqTailOffset;
+    private final int cqMask;
+    private final long cqesOffset;
+
+    private int sqTail;
+    private int pendingSubmissions = 0;
+    private long enterCalls = 0;
+    private boolean buffersRegistered = false;
+
+    private IoUring(int requestedEntries) throws IOException {
+        MemorySegment params = arena.allocate(PARAMS_SIZE, 8);
+        ringFd = LinuxNative.ioUringSetup(requestedEntries, params);
+
+        try {
+            sqEntries = params.get(ValueLayout.JAVA_INT, PARAMS_SQ_ENTRIES);
+            cqEntries = params.get(ValueLayout.JAVA_INT, PARAMS_CQ_ENTRIES);
+            int features = params.get(ValueLayout.JAVA_INT, PARAMS_FEATURES);
+
+            sqHeadOffset = params.get(ValueLayout.JAVA_INT, PARAMS_SQ_OFF + OFF_HEAD);
+            sqTailOffset = params.get(ValueLayout.JAVA_INT, PARAMS_SQ_OFF + OFF_TAIL);
+            long sqMaskOffset = params.get(ValueLayout.JAVA_INT, PARAMS_SQ_OFF + OFF_RING_MASK);
+            sqArrayOffset = params.get(ValueLayout.JAVA_INT, PARAMS_SQ_OFF + SQ_OFF_ARRAY);
+            cqHeadOffset = params.get(ValueLayout.JAVA_INT, PARAMS_CQ_OFF + OFF_HEAD);
+            cqTailOffset = params.get(ValueLayout.JAVA_INT, PARAMS_CQ_OFF + OFF_TAIL);
+            long cqMaskOffset = params.get(ValueLayout.JAVA_INT, PARAMS_CQ_OFF + OFF_RING_MASK);
+            cqesOffset = params.get(ValueLayout.JAVA_INT, PARAMS_CQ_OFF + CQ_OFF_CQES);
+
+            long sqRingSize = sqArrayOffset + (long) sqEntries * Integer.BYTES;
+            long cqRingSize = cqesOffset + (long) cqEntries * CQE_SIZE;
+            int prot = LinuxNative.PROT_READ | LinuxNative.PROT_WRITE;
+            int flags = LinuxNative.MAP_SHARED | LinuxNative.MAP_POPULATE;
+
+            // KERNELS >= 5.4 MAPEIAM SQ E CQ NA MESMA REGIÃO
+            if ((features & IORING_FEAT_SINGLE_MMAP) != 0) {
+                sqRing = LinuxNative.mmap(Math.max(sqRingSize, cqRingSize), prot, flags, ringFd, IORING_OFF_SQ_RING);
+                cqRing = sqRing;
+            } else {
+                sqRing = LinuxNative.mmap(sqRingSize, prot, flags, ringFd, IORING_OFF_SQ_RING);
+                cqRing = LinuxNative.mmap(cqRingSize, prot, flags, ringFd, IORING_OFF_CQ_RING);
+            }
+            sqes = LinuxNative.mmap(sqEntries * SQE_SIZE, prot, flags, ringFd, IORING_OFF_SQES);
+
+            sqMask = sqRing.get(ValueLayout.JAVA_INT, sqMaskOffset);
+            cqMask = cqRing.get(ValueLayout.JAVA_INT, cqMaskOffset);
+            sqTail = sqRing.get(ValueLayout.JAVA_INT, sqTailOffset);
+        } catch (IOException | RuntimeException e) {
+            LinuxNative.close(ringFd);
+            arena.close();
+            throw e;
+        }
+    }
+
+    /**
+     * CRIA UM ANEL COM (PELO MENOS) entries POSIÇÕES DE SUBMISSÃO
+     *
+     * @throws LinuxNative.ErrnoException - ENOSYS/EPERM quando io_uring está
+     *         indisponível ou desabilitado no kernel
+     */
+    static IoUring create(int entries) throws IOException {
+        if (!LinuxNative.isAvailable()) {
+            throw new IOException("io_uring indisponível: " + LinuxNative.unavailableReason());
+        }
+        return new IoUring(entries);
+    }
+
+    /**
+     * NÚMERO DE POSIÇÕES DE SUBMISSÃO (o kernel arredonda para potência de 2)
+     */
+    int submissionEntries() {
+        return sqEntries;
+    }
+
+    int completionEntries() {
+        return cqEntries;
+    }
+
+    long enterCalls() {
+        return enterCalls;
+    }
+
+    /**
+     * REGISTRA count BUFFERS CONSECUTIVOS DE bufferSize BYTES COMO FIXOS
+     * As páginas ficam fixadas pelo kernel até o anel ser fechado.
+     */
+    void registerBuffers(MemorySegment region, int count, int bufferSize) throws IOException {
+        MemorySegment iovecs = arena.allocate(IOVEC_SIZE * count, 8);
+        for (int i = 0; i < count; i++) {
+            iovecs.set(ValueLayout.JAVA_LONG, i * IOVEC_SIZE, region.address() + (long) i * bufferSize);
+            iovecs.set(ValueLayout.JAVA_LONG, i * IOVEC_SIZE + 8, bufferSize);
+        }
+        LinuxNative.ioUringRegister(ringFd, IORING_REGISTER_BUFFERS, iovecs, count);
+        buffersRegistered = true;
+    }
+
+    /**
+     * DESFAZ O REGISTRO DOS BUFFERS FIXOS - o kernel só conclui depois que
+     * nenhuma operação em voo usa mais os buffers, então a memória pode ser
+     * liberada em seguida mesmo após um erro no meio da cópia
+     */
+    void unregisterBuffers() throws IOException {
+        if (!buffersRegistered) {
+            return;
+        }
+        buffersRegistered = false;
+        LinuxNative.ioUringRegister(ringFd, IORING_UNREGISTER_BUFFERS, MemorySegment.NULL, 0);
+    }
+
+    /**
+     * PREPARA UMA OPERAÇÃO READ_FIXED/WRITE_FIXED (submetida no próximo enter)
+     *
+     * @param buffer   - fatia de um buffer registrado
+     * @param bufIndex - índice do buffer registrado que contém a fatia
+     */
+    void prepareFixed(byte opcode, int fd, MemorySegment buffer, int length, long fileOffset,
+            int bufIndex, long userData) {
+        VarHandle.acquireFence();
+        int head = sqRing.get(ValueLayout.JAVA_INT, sqHeadOffset);
+        if (sqTail - head >= sqEntries) {
+            throw new IllegalStateException("Fila de submissão do io_uring cheia");
+        }
+
+        int index = sqTail & sqMask;
+        MemorySegment sqe = sqes.asSlice(index * SQE_SIZE, SQE_SIZE);
+        sqe.fill((byte) 0);
+        sqe.set(ValueLayout.JAVA_BYTE, SQE_OPCODE, opcode);
+        sqe.set(ValueLayout.JAVA_INT, SQE_FD, fd);
+        sqe.set(ValueLayout.JAVA_LONG, SQE_OFF, fileOffset);
+        sqe.set(ValueLayout.JAVA_LONG, SQE_ADDR, buffer.address());
+        sqe.set(ValueLayout.JAVA_INT, SQE_LEN, length);
+        sqe.set(ValueLayout.JAVA_LONG, SQE_USER_DATA, userData);
+        sqe.set(ValueLayout.JAVA_SHORT, SQE_BUF_INDEX, (short) bufIndex);
+
+        sqRing.set(ValueLayout.JAVA_INT, sqArrayOffset + (long) index * Integer.BYTES, index);
+        sqTail++;
+        pendingSubmissions++;
+
+        // PUBLICA A NOVA CAUDA SOMENTE DEPOIS DO SQE COMPLETO
+        VarHandle.releaseFence();
+        sqRing.set(ValueLayout.JAVA_INT, sqTailOffset, sqTail);
+    }
+
+    /**
+     * SUBMETE AS OPERAÇÕES PREPARADAS E AGUARDA minComplete CONCLUSÕES
+     */
+    void submitAndWait(int minComplete) throws IOException {
+        int toSubmit = pendingSubmissions;
+        while (true) {
+            try {
+                enterCalls++;
+                int submitted = LinuxNative.ioUringEnter(ringFd, toSubmit, minComplete,
+                        minComplete > 0 ? IORING_ENTER_GETEVENTS : 0);
+                pendingSubmissions -= submitted;
+                return;
+            } catch (LinuxNative.ErrnoException e) {
+                // EINTR: sinal recebido durante a espera; EAGAIN/EBUSY: CQ cheia,
+                // as conclusões pendentes precisam ser consumidas antes
+                if (e.errno() == LinuxNative.EINTR) {
+                    continue;
+                }
+                if (e.errno() == LinuxNative.EAGAIN || e.errno() == LinuxNative.EBUSY) {
+                    return;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * CONSOME TODAS AS CONCLUSÕES DISPONÍVEIS
+     *
+     * @return int - número de conclusões entregues ao handler
+     */
+    int drainCompletions(CompletionHandler handler) throws IOException {
+        int head = cqRing.get(ValueLayout.JAVA_INT, cqHeadOffset);
+        int tail = cqRing.get(ValueLayout.JAVA_INT, cqTailOffset);
+        VarHandle.acquireFence();
+
+        int consumed = 0;
+        try {
+            while (head != tail) {
+                long cqe = cqesOffset + (long) (head & cqMask) * CQE_SIZE;
+                long userData = cqRing.get(ValueLayout.JAVA_LONG, cqe + CQE_USER_DATA);
+                int result = cqRing.get(ValueLayout.JAVA_INT, cqe + CQE_RES);
+                head++;
+                consumed++;
+                handler.onCompletion(userData, result);
+            }
+        } finally {
+            // LIBERA AS POSIÇÕES CONSUMIDAS PARA O KERNEL
+            VarHandle.releaseFence();
+            cqRing.set(ValueLayout.JAVA_INT, cqHeadOffset, head);
+        }
+        return consumed;
+    }
+
+    /**
+     * FECHA O ANEL - os buffers fixos são desregistrados antes, para que o
+     * chamador possa liberá-los logo depois com segurança
+     */
+    @Override
+    public void close() {
+        try {
+            unregisterBuffers();
+        } catch (IOException e) {
+            // o kernel ainda libera o registro ao destruir o anel
+        }
+        LinuxNative.munmap(sqes);
+        if (cqRing != sqRing) {
+            LinuxNative.munmap(cqRing);
+        }
+        LinuxNative.munmap(sqRing);
+        LinuxNative.close(ringFd);
+        arena.close();
+    }
+}
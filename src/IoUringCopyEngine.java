@@ -0,0 +1,259 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+
+/**
+ * CLASSE: IoUringCopyEngine
+ * DESCRIÇÃO: Motor de cópia assíncrono sobre io_uring (via FFM, classe
+ * IoUring). Mantém várias leituras e escritas em voo ao mesmo tempo usando
+ * buffers fixos registrados no kernel, o que evita o mapeamento das páginas
+ * a cada operação.
+ *
+ * PIPELINE POR BUFFER:
+ * 1. READ_FIXED de um bloco da fonte para o buffer
+ * 2. WRITE_FIXED do que foi lido para o mesmo offset do destino
+ * 3. Leituras/escritas parciais são reenviadas com o restante
+ * 4. Buffer livre recebe o próximo bloco da fonte
+ *
+ * Quando io_uring não está disponível (kernel antigo, desabilitado via
+ * sysctl/seccomp, FFM indisponível) a cópia segue pelo BufferedCopyEngine.
+ */
+class IoUringCopyEngine implements CopyEngine {
+
+    private static final long BUFFER_ALIGNMENT = 4096;
+
+    private final int queueDepth;
+    private final int bufferCount;
+    private final int bufferSize;
+
+    IoUringCopyEngine(int queueDepth, int bufferCount, int bufferSize) {
+        this.queueDepth = queueDepth;
+        this.bufferCount = bufferCount;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "io_uring (fila de " + queueDepth + ", " + bufferCount + " buffers fixos de "
+                + CopyOptions.formatSize(bufferSize) + ")";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        long size = context.inStream().getChannel().size();
+
+        // O ANEL É CRIADO DENTRO DO ESCOPO DA ARENA: try-with-resources fecha na
+        // ordem inversa, então o anel desregistra os buffers e é fechado antes
+        // de a arena liberar a memória deles - inclusive após um erro no meio
+        try (Arena arena = Arena.ofConfined()) {
+            IoUring ring;
+            try {
+                ring = IoUring.create(queueDepth);
+            } catch (IOException e) {
+                return fallbackToJava(context, "io_uring_setup: " + e.getMessage());
+            }
+
+            int inFd = -1;
+            int outFd = -1;
+            try (ring) {
+                MemorySegment buffers = arena.allocate((long) bufferCount * bufferSize, BUFFER_ALIGNMENT);
+                try {
+                    ring.registerBuffers(buffers, bufferCount, bufferSize);
+                } catch (LinuxNative.ErrnoException e) {
+                    // ENOMEM: limite de memória bloqueada (RLIMIT_MEMLOCK) excedido
+                    return fallbackToJava(context, e.getMessage());
+                }
+
+                inFd = LinuxNative.open(context.sourceFile(), LinuxNative.O_RDONLY);
+                outFd = LinuxNative.open(context.destFile(), LinuxNative.O_WRONLY);
+
+                Pipeline pipeline = new Pipeline(context, ring, buffers, inFd, outFd, size);
+                long copied = pipeline.run();
+
+                context.addReportNote("io_uring: " + ring.submissionEntries() + " entradas SQ / "
+                        + ring.completionEntries() + " entradas CQ, " + bufferCount + " buffers fixos");
+                context.addReportNote("Chamadas io_uring_enter: " + ring.enterCalls()
+                        + " | Máximo de operações em voo: " + pipeline.maxInFlight);
+                return copied;
+            } finally {
+                if (outFd >= 0) {
+                    LinuxNative.close(outFd);
+                }
+                if (inFd >= 0) {
+                    LinuxNative.close(inFd);
+                }
+            }
+        }
+    }
+
+    /**
+     * CÓPIA PELO CAMINHO JAVA QUANDO io_uring NÃO PODE SER USADO
+     */
+    private long fallbackToJava(CopyContext context, String reason) throws IOException {
+        ConsoleLog.info("   io_uring indisponível (" + reason + "), usando cópia em blocos Java");
+        context.addReportNote("io_uring indisponível: " + reason);
+        context.addReportNote("Caminho Java (buffered) usado como fallback");
+        return new BufferedCopyEngine(bufferSize).copy(context);
+    }
+
+    /**
+     * ESTADO DO PIPELINE - uma máquina de estados por buffer
+     * user_data = (índice do buffer << 1) | (1 se escrita)
+     */
+    private final class Pipeline implements IoUring.CompletionHandler {
+
+        private final CopyContext context;
+        private final IoUring ring;
+        private final MemorySegment buffers;
+        private final int inFd;
+        private final int outFd;
+        private final long size;
+
+        // BLOCO ATRIBUÍDO A CADA BUFFER
+        private final long[] readOffset = new long[bufferCount];
+        private final int[] readRemaining = new int[bufferCount];
+        // ESCRITA EM ANDAMENTO DE CADA BUFFER
+        private final long[] writeOffset = new long[bufferCount];
+        private final int[] writeLength = new int[bufferCount];
+        private final int[] writeDone = new int[bufferCount];
+        // INSTANTE EM QUE A OPERAÇÃO ATUAL DE CADA BUFFER FOI PREPARADA (latência até o CQE)
+        private final long[] preparedAt = new long[bufferCount];
+
+        private long nextOffset = 0;
+        private long copied = 0;
+        private int inFlight = 0;
+        private int maxInFlight = 0;
+        private boolean stopped = false;
+        private IOException failure;
+
+        Pipeline(CopyContext context, IoUring ring, MemorySegment buffers, int inFd, int outFd, long size) {
+            this.context = context;
+            this.ring = ring;
+            this.buffers = buffers;
+            this.inFd = inFd;
+            this.outFd = outFd;
+            this.size = size;
+        }
+
+        long run() throws IOException {
+            for (int i = 0; i < bufferCount && nextOffset < size; i++) {
+                startNextBlock(i);
+            }
+
+            // ENQUANTO HOUVER OPERAÇÕES EM VOO, OS BUFFERS PERTENCEM AO KERNEL -
+            // mesmo após um erro o pipeline é drenado antes de retornar
+            while (inFlight > 0) {
+                ring.submitAndWait(1);
+                ring.drainCompletions(this);
+
+                if (!stopped && context.checkInterrupted()) {
+                    stopped = true;
+                }
+            }
+
+            if (failure != null) {
+                throw failure;
+            }
+            return copied;
+        }
+
+        @Override
+        public void onCompletion(long userData, int result) {
+            int index = (int) (userData >>> 1);
+            boolean isWrite = (userData & 1) != 0;
+            inFlight--;
+
+            if (result == -LinuxNative.EINTR || result == -LinuxNative.EAGAIN) {
+                // REPETE A MESMA OPERAÇÃO
+                if (isWrite) {
+                    submitWrite(index);
+                } else {
+                    submitRead(index);
+                }
+                return;
+            }
+            if (result < 0) {
+                if (failure == null) {
+                    String operation = isWrite ? "io_uring WRITE_FIXED" : "io_uring READ_FIXED";
+                    failure = new LinuxNative.ErrnoException(operation, -result);
+                }
+                stopped = true;
+                return;
+            }
+
+            long latency = System.nanoTime() - preparedAt[index];
+            if (isWrite) {
+                context.profiler().writeLatency().record(latency);
+                onWriteCompleted(index, result);
+            } else {
+                context.profiler().readLatency().record(latency);
+                onReadCompleted(index, result);
+            }
+        }
+
+        private void onReadCompleted(int index, int bytesRead) {
+            if (bytesRead == 0) {
+                // FIM INESPERADO - fonte encolheu; nenhum bloco novo é iniciado
+                stopped = true;
+                return;
+            }
+            readRemaining[index] -= bytesRead;
+
+            writeOffset[index] = readOffset[index];
+            writeLength[index] = bytesRead;
+            writeDone[index] = 0;
+            readOffset[index] += bytesRead;
+            submitWrite(index);
+        }
+
+        private void onWriteCompleted(int index, int bytesWritten) {
+            writeDone[index] += bytesWritten;
+            if (writeDone[index] < writeLength[index]) {
+                submitWrite(index); // escrita parcial - envia o restante
+                return;
+            }
+
+            copied += writeLength[index];
+            context.progress().advance(writeLength[index]);
+
+            if (failure != null) {
+                return;
+            }
+            if (readRemaining[index] > 0 && !stopped) {
+                submitRead(index); // leitura parcial anterior - completa o bloco
+            } else if (nextOffset < size && !stopped) {
+                startNextBlock(index);
+            }
+        }
+
+        private void startNextBlock(int index) {
+            int length = (int) Math.min(bufferSize, size - nextOffset);
+            readOffset[index] = nextOffset;
+            readRemaining[index] = length;
+            nextOffset += length;
+            submitRead(index);
+        }
+
+        private void submitRead(int index) {
+            MemorySegment buffer = buffers.asSlice((long) index * bufferSize, readRemaining[index]);
+            ring.prepareFixed(IoUring.IORING_OP_READ_FIXED, inFd, buffer, readRemaining[index],
+                    readOffset[index], index, ((long) index << 1));
+            onSubmitted(index);
+        }
+
+        private void submitWrite(int index) {
+            int done = writeDone[index];
+            int remaining = writeLength[index] - done;
+            MemorySegment buffer = buffers.asSlice((long) index * bufferSize + done, remaining);
+            ring.prepareFixed(IoUring.IORING_OP_WRITE_FIXED, outFd, buffer, remaining,
+                    writeOffset[index] + done, index, ((long) index << 1) | 1);
+            onSubmitted(index);
+        }
+
+        private void onSubmitted(int index) {
+            preparedAt[index] = System.nanoTime();
+            inFlight++;
+            maxInFlight = Math.max(maxInFlight, inFlight);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+import java.io.IOException;
+
+/**
+ * CLASSE: KernelCopyEngine
+ * DESCRIÇÃO: Motor de cópia que chama copy_file_range(2) diretamente via FFM
+ * (LinuxNative). A cópia acontece inteiramente no kernel e, em sistemas de
+ * arquivos que suportam (btrfs, xfs, NFS 4.2...), pode virar reflink ou cópia
+ * no servidor.
+ *
+ * CADEIA DE FALLBACK:
+ * 1. copy_file_range
+ * 2. sendfile - quando copy_file_range retorna EXDEV, ENOSYS, EOPNOTSUPP ou
+ *    EINVAL (kernels antigos não copiam entre sistemas de arquivos)
+ * 3. TransferCopyEngine (caminho Java) - quando sendfile também não é
+ *    suportado ou quando FFM/Linux não está disponível
+ *
+ * Os descritores nativos são abertos sobre os mesmos caminhos das streams da
+ * FASE 2; o destino já foi criado e truncado por elas.
+ */
+class KernelCopyEngine implements CopyEngine {
+
+    private static final long MAX_CALL_SIZE = 1L << 30; // 1 GiB por chamada
+
+    private final TransferCopyEngine javaFallback = new TransferCopyEngine();
+
+    @Override
+    public String describe() {
+        return "kernel (copy_file_range/sendfile via FFM)";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        if (!LinuxNative.isAvailable()) {
+            context.addReportNote("Chamada de sistema: nenhuma - " + LinuxNative.unavailableReason());
+            return fallbackToJava(context, 0, "FFM indisponível");
+        }
+
+        long size = context.inStream().getChannel().size();
+        int inFd = LinuxNative.open(context.sourceFile(), LinuxNative.O_RDONLY);
+        int outFd = -1;
+        try {
+            outFd = LinuxNative.open(context.destFile(), LinuxNative.O_WRONLY);
+            return copyWithSyscalls(context, inFd, outFd, size);
+        } finally {
+            if (outFd >= 0) {
+                LinuxNative.close(outFd);
+            }
+            LinuxNative.close(inFd);
+        }
+    }
+
+    /**
+     * TENTA copy_file_range E, SE NECESSÁRIO, sendfile
+     */
+    private long copyWithSyscalls(CopyContext context, int inFd, int outFd, long size) throws IOException {
+        CopyProgress progress = context.progress();
+        long copied = 0;
+        int calls = 0;
+        boolean useSendfile = false;
+
+        while (copied < size) {
+            long request = Math.min(MAX_CALL_SIZE, size - copied);
+            long result;
+
+            try {
+                // LEITURA E ESCRITA NUMA SÓ CHAMADA - medida como escrita do bloco
+                long callStart = System.nanoTime();
+                result = useSendfile
+                        ? LinuxNative.sendfile(outFd, inFd, request)
+                        : LinuxNative.copyFileRange(inFd, outFd, request);
+                context.profiler().writeLatency().record(System.nanoTime() - callStart);
+            } catch (LinuxNative.ErrnoException e) {
+                if (e.errno() == LinuxNative.EINTR || e.errno() == LinuxNative.EAGAIN) {
+                    continue;
+                }
+                if (!isUnsupported(e.errno())) {
+                    throw e;
+                }
+                if (!useSendfile) {
+                    ConsoleLog.info("   copy_file_range indisponível (" + LinuxNative.errnoName(e.errno())
+                            + "), tentando sendfile");
+                    context.addReportNote("copy_file_range recusado: " + LinuxNative.errnoName(e.errno()));
+                    useSendfile = true;
+                    continue;
+                }
+                context.addReportNote("sendfile recusado: " + LinuxNative.errnoName(e.errno()));
+                return fallbackToJava(context, copied, LinuxNative.errnoName(e.errno()));
+            }
+
+            // FIM INESPERADO - fonte encolheu durante a cópia
+            if (result == 0) {
+                break;
+            }
+
+            calls++;
+            copied += result;
+            progress.advance(result);
+
+            if (context.checkInterrupted()) {
+                break;
+            }
+        }
+
+        context.addReportNote("Chamada de sistema: " + (useSendfile ? "sendfile" : "copy_file_range")
+                + " (" + calls + " chamadas)");
+        return copied;
+    }
+
+    /**
+     * ERROS QUE INDICAM "NÃO SUPORTADO AQUI" E NÃO UMA FALHA DE I/O
+     */
+    private static boolean isUnsupported(int errno) {
+        return errno == LinuxNative.EXDEV || errno == LinuxNative.ENOSYS
+                || errno == LinuxNative.EOPNOTSUPP || errno == LinuxNative.EINVAL;
+    }
+
+    /**
+     * CONTINUA A CÓPIA PELO CAMINHO JAVA A PARTIR DO OFFSET JÁ COPIADO
+     */
+    private long fallbackToJava(CopyContext context, long copied, String reason) throws IOException {
+        ConsoleLog.info("   Usando caminho Java (transferTo) a partir do byte " + copied + " - " + reason);
+        context.addReportNote("Caminho Java (transferTo) usado como fallback a partir do byte " + copied);
+        return javaFallback.copyFrom(context, copied);
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * CLASSE: LatencyHistogram
+ * DESCRIÇÃO: Histograma de latências em nanossegundos no estilo HDR
+ * (log-linear). Valores abaixo de SUB_BUCKET_COUNT ficam em baldes exatos;
+ * acima disso, cada potência de 2 é dividida em SUB_BUCKET_COUNT / 2 baldes
+ * lineares, então o erro relativo de um percentil fica abaixo de 1/128
+ * (~0,8%) em toda a faixa, de nanossegundos a minutos, com memória fixa.
+ *
+ * record() é uma soma atômica em um array pré-alocado - pode ser chamado
+ * por vários workers ao mesmo tempo, sem locks nem alocação.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS; // 256
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2; // 128
+    private static final int MAX_VALUE_BITS = 40; // ~18 minutos em ns
+    private static final long MAX_TRACKABLE = (1L << MAX_VALUE_BITS) - 1;
+    private static final int BUCKETS = (MAX_VALUE_BITS - SUB_BUCKET_BITS + 1) * SUB_BUCKET_HALF + SUB_BUCKET_HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * REGISTRA UMA LATÊNCIA - valores fora da faixa são limitados a MAX_TRACKABLE
+     */
+    void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    long count() {
+        return totalCount.get();
+    }
+
+    long maxNanos() {
+        return maxNanos.get();
+    }
+
+    double meanNanos() {
+        long count = totalCount.get();
+        return (count > 0) ? (double) totalNanos.get() / count : 0;
+    }
+
+    /**
+     * LATÊNCIA NO PERCENTIL INFORMADO - limite superior do balde, como no HDR
+     *
+     * @param percentile - 0 a 100 (ex: 99.9)
+     * @return long - latência em ns (0 se nada foi registrado)
+     */
+    long percentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long cumulative = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            cumulative += counts.get(index);
+            if (cumulative >= target) {
+                return Math.min(highestValueOf(index), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * BALDE DE UM VALOR - exato abaixo de SUB_BUCKET_COUNT, log-linear acima
+     */
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (value >>> shift);
+    }
+
+    /**
+     * MAIOR VALOR QUE CAI NO BALDE index
+     */
+    private static long highestValueOf(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * FORMATA UMA DURAÇÃO EM ns NA UNIDADE MAIS LEGÍVEL (ns, µs, ms ou s)
+     */
+    static String formatNanos(double nanos) {
+        if (nanos < 1_000) {
+            return String.format("%.0f ns", nanos);
+        } else if (nanos < 1_000_000) {
+            return String.format("%.1f µs", nanos / 1_000);
+        } else if (nanos < 1_000_000_000) {
+            return String.format("%.2f ms", nanos / 1_000_000);
+        }
+        return String.format("%.2f s", nanos / 1_000_000_000);
+    }
+}
@@ -0,0 +1,571 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.FunctionDescriptor;
+import java.lang.foreign.Linker;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.SymbolLookup;
+import java.lang.foreign.ValueLayout;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CLASSE: LinuxNative
+ * DESCRIÇÃO: Acesso a chamadas de sistema do Linux através da Foreign Function
+ * & Memory API (java.lang.foreign). Cada função da libc é ligada uma única
+ * vez e o errno é capturado logo após a chamada (Linker.Option.captureCallState),
+ * antes que a JVM possa sobrescrevê-lo.
+ *
+ * Em sistemas que não são Linux, ou quando a ligação falha, isAvailable()
+ * retorna false e os motores que dependem desta classe usam o caminho Java.
+ */
+final class LinuxNative {
+
+    // FLAGS DE open(2)
+    static final int O_RDONLY = 0;
+    static final int O_WRONLY = 1;
+    static final int O_CREAT = 0100;
+    static final int O_TRUNC = 01000;
+
+    // NÚMEROS DE CHAMADA DE SISTEMA DO io_uring (iguais em todas as arquiteturas)
+    private static final long SYS_IO_URING_SETUP = 425;
+    private static final long SYS_IO_URING_ENTER = 426;
+    private static final long SYS_IO_URING_REGISTER = 427;
+
+    // PARÂMETROS DE mmap(2)
+    static final int PROT_READ = 0x1;
+    static final int PROT_WRITE = 0x2;
+    static final int MAP_SHARED = 0x01;
+    static final int MAP_POPULATE = 0x8000;
+
+    // ioctl(2) FICLONE = _IOW(0x94, 9, int) - clone reflink (btrfs, xfs, bcachefs)
+    private static final long FICLONE = 0x40049409L;
+
+    // lseek(2) - busca de regiões com dados/buracos em arquivos esparsos
+    static final int SEEK_DATA = 3;
+    static final int SEEK_HOLE = 4;
+
+    // statx(2)
+    private static final int AT_FDCWD = -100;
+    private static final int STATX_SIZE = 0x200;
+    private static final int STATX_BLOCKS = 0x400;
+    private static final long STATX_STRUCT_SIZE = 256;
+    private static final long STATX_BLOCKS_OFFSET = 48;
+
+    // CONSELHOS DE posix_fadvise(2)
+    static final int POSIX_FADV_SEQUENTIAL = 2;
+    static final int POSIX_FADV_WILLNEED = 3;
+    static final int POSIX_FADV_DONTNEED = 4;
+
+    // fallocate(2) E sync_file_range(2)
+    static final int FALLOC_FL_KEEP_SIZE = 0x01;
+    static final int SYNC_FILE_RANGE_WAIT_BEFORE = 1;
+    static final int SYNC_FILE_RANGE_WRITE = 2;
+    static final int SYNC_FILE_RANGE_WAIT_AFTER = 4;
+
+    // VALORES DE errno (asm-generic, iguais em x86_64 e aarch64)
+    static final int EPERM = 1;
+    static final int EINTR = 4;
+    static final int ENXIO = 6;
+    static final int EAGAIN = 11;
+    static final int ENOMEM = 12;
+    static final int EBUSY = 16;
+    static final int EXDEV = 18;
+    static final int EINVAL = 22;
+    static final int ENOTTY = 25;
+    static final int ENOSYS = 38;
+    static final int EOPNOTSUPP = 95;
+
+    /**
+     * FALHA DE CHAMADA DE SISTEMA COM O errno CORRESPONDENTE
+     */
+    static final class ErrnoException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private final int errno;
+
+        ErrnoException(String call, int errno) {
+            super(call + " falhou: " + errnoName(errno) + " (errno " + errno + ")");
+            this.errno = errno;
+        }
+
+        int errno() {
+            return errno;
+        }
+    }
+
+    private static final Linker LINKER = Linker.nativeLinker();
+    private static final StructLayout CAPTURE_LAYOUT = Linker.Option.captureStateLayout();
+    private static final long ERRNO_OFFSET =
+            CAPTURE_LAYOUT.byteOffset(MemoryLayout.PathElement.groupElement("errno"));
+
+    private static final MethodHandle OPEN;
+    private static final MethodHandle CLOSE;
+    private static final MethodHandle COPY_FILE_RANGE;
+    private static final MethodHandle SENDFILE;
+    private static final MethodHandle LSEEK;
+    private static final MethodHandle IOCTL;
+    private static final MethodHandle STATX;
+    private static final MethodHandle POSIX_FADVISE;
+    private static final MethodHandle FALLOCATE;
+    private static final MethodHandle SYNC_FILE_RANGE;
+    private static final MethodHandle MMAP;
+    private static final MethodHandle MUNMAP;
+    private static final MethodHandle IO_URING_SETUP;
+    private static final MethodHandle IO_URING_ENTER;
+    private static final MethodHandle IO_URING_REGISTER;
+    private static final String UNAVAILABLE_REASON;
+
+    static {
+        MethodHandle open = null;
+        MethodHandle close = null;
+        MethodHandle copyFileRange = null;
+        MethodHandle sendfile = null;
+        MethodHandle lseek = null;
+        MethodHandle ioctl = null;
+        MethodHandle statx = null;
+        MethodHandle posixFadvise = null;
+        MethodHandle fallocate = null;
+        MethodHandle syncFileRange = null;
+        MethodHandle mmap = null;
+        MethodHandle munmap = null;
+        MethodHandle ioUringSetup = null;
+        MethodHandle ioUringEnter = null;
+        MethodHandle ioUringRegister = null;
+        String reason = null;
+
+        if (!System.getProperty("os.name", "").toLowerCase().contains("linux")) {
+            reason = "sistema operacional não é Linux";
+        } else {
+            try {
+                // int open(const char *path, int flags, ... /* mode_t mode */)
+                open = bind("open", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.ADDRESS, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT),
+                        Linker.Option.firstVariadicArg(2));
+                // int close(int fd)
+                close = bind("close", FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.JAVA_INT));
+                // ssize_t copy_file_range(int fd_in, loff_t *off_in, int fd_out,
+                //                         loff_t *off_out, size_t len, unsigned int flags)
+                copyFileRange = bind("copy_file_range", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_INT,
+                        ValueLayout.ADDRESS, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT));
+                // ssize_t sendfile(int out_fd, int in_fd, off_t *offset, size_t count)
+                sendfile = bind("sendfile", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG));
+                // off_t lseek(int fd, off_t offset, int whence)
+                lseek = bind("lseek", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT));
+                // int ioctl(int fd, unsigned long request, ...) - aqui com um int como argumento
+                ioctl = bind("ioctl", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT),
+                        Linker.Option.firstVariadicArg(2));
+                // int statx(int dirfd, const char *path, int flags, unsigned int mask, struct statx *buf)
+                statx = bind("statx", FunctionDescriptor.of(ValueLayout.JAVA_INT, ValueLayout.JAVA_INT,
+                        ValueLayout.ADDRESS, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.ADDRESS));
+                // int posix_fadvise(int fd, off_t offset, off_t len, int advice)
+                posixFadvise = bind("posix_fadvise", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT));
+                // int fallocate(int fd, int mode, off_t offset, off_t len)
+                fallocate = bind("fallocate", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.JAVA_LONG));
+                // int sync_file_range(int fd, off64_t offset, off64_t nbytes, unsigned int flags)
+                syncFileRange = bind("sync_file_range", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_INT, ValueLayout.JAVA_LONG, ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT));
+                // void *mmap(void *addr, size_t length, int prot, int flags, int fd, off_t offset)
+                mmap = bind("mmap", FunctionDescriptor.of(ValueLayout.ADDRESS, ValueLayout.ADDRESS,
+                        ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_LONG));
+                // int munmap(void *addr, size_t length)
+                munmap = bind("munmap", FunctionDescriptor.of(ValueLayout.JAVA_INT,
+                        ValueLayout.ADDRESS, ValueLayout.JAVA_LONG));
+                // io_uring NÃO TEM WRAPPER NA glibc - chamado via long syscall(long number, ...)
+                // int io_uring_setup(u32 entries, struct io_uring_params *p)
+                ioUringSetup = bind("syscall", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT, ValueLayout.ADDRESS),
+                        Linker.Option.firstVariadicArg(1));
+                // int io_uring_enter(unsigned fd, u32 to_submit, u32 min_complete, u32 flags,
+                //                    const sigset_t *sig, size_t sigsz)
+                ioUringEnter = bind("syscall", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT,
+                        ValueLayout.JAVA_INT, ValueLayout.ADDRESS, ValueLayout.JAVA_LONG),
+                        Linker.Option.firstVariadicArg(1));
+                // int io_uring_register(unsigned fd, unsigned opcode, void *arg, unsigned nr_args)
+                ioUringRegister = bind("syscall", FunctionDescriptor.of(ValueLayout.JAVA_LONG,
+                        ValueLayout.JAVA_LONG, ValueLayout.JAVA_INT, ValueLayout.JAVA_INT, ValueLayout.ADDRESS,
+                        ValueLayout.JAVA_INT),
+                        Linker.Option.firstVariadicArg(1));
+            } catch (RuntimeException | LinkageError e) {
+                reason = "falha ao ligar funções nativas: " + e.getMessage();
+            }
+        }
+
+        OPEN = open;
+        CLOSE = close;
+        COPY_FILE_RANGE = copyFileRange;
+        SENDFILE = sendfile;
+        LSEEK = lseek;
+        IOCTL = ioctl;
+        STATX = statx;
+        POSIX_FADVISE = posixFadvise;
+        FALLOCATE = fallocate;
+        SYNC_FILE_RANGE = syncFileRange;
+        MMAP = mmap;
+        MUNMAP = munmap;
+        IO_URING_SETUP = ioUringSetup;
+        IO_URING_ENTER = ioUringEnter;
+        IO_URING_REGISTER = ioUringRegister;
+        UNAVAILABLE_REASON = reason;
+    }
+
+    private LinuxNative() {
+    }
+
+    /**
+     * true SE AS FUNÇÕES NATIVAS ESTÃO DISPONÍVEIS NESTA PLATAFORMA
+     */
+    static boolean isAvailable() {
+        return UNAVAILABLE_REASON == null;
+    }
+
+    /**
+     * MOTIVO DA INDISPONIBILIDADE (null quando disponível)
+     */
+    static String unavailableReason() {
+        return UNAVAILABLE_REASON;
+    }
+
+    /**
+     * ABRE UM ARQUIVO E RETORNA O DESCRITOR
+     */
+    static int open(String path, int flags) throws IOException {
+        return open(path, flags, 0);
+    }
+
+    /**
+     * ABRE UM ARQUIVO COM AS PERMISSÕES mode PARA O CASO DE O_CREAT
+     */
+    static int open(String path, int flags, int mode) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int fd = (int) OPEN.invokeExact(capture, toCString(arena, path), flags, mode);
+            if (fd < 0) {
+                throw new ErrnoException("open(" + path + ")", errno(capture));
+            }
+            return fd;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa open", t);
+        }
+    }
+
+    /**
+     * FECHA UM DESCRITOR (erros são ignorados, como em close de streams)
+     */
+    static void close(int fd) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int ignored = (int) CLOSE.invokeExact(capture, fd);
+        } catch (Throwable t) {
+            // nada a fazer - o descritor é liberado pelo kernel de qualquer forma
+        }
+    }
+
+    /**
+     * copy_file_range(2) USANDO OS OFFSETS DOS PRÓPRIOS DESCRITORES
+     *
+     * @return long - bytes copiados (0 indica fim da fonte)
+     */
+    static long copyFileRange(int inFd, int outFd, long length) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long copied = (long) COPY_FILE_RANGE.invokeExact(capture, inFd, MemorySegment.NULL,
+                    outFd, MemorySegment.NULL, length, 0);
+            if (copied < 0) {
+                throw new ErrnoException("copy_file_range", errno(capture));
+            }
+            return copied;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa copy_file_range", t);
+        }
+    }
+
+    /**
+     * sendfile(2) USANDO O OFFSET DO DESCRITOR DE ENTRADA
+     *
+     * @return long - bytes copiados (0 indica fim da fonte)
+     */
+    static long sendfile(int outFd, int inFd, long count) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long copied = (long) SENDFILE.invokeExact(capture, outFd, inFd, MemorySegment.NULL, count);
+            if (copied < 0) {
+                throw new ErrnoException("sendfile", errno(capture));
+            }
+            return copied;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa sendfile", t);
+        }
+    }
+
+    /**
+     * lseek(2) - com SEEK_DATA/SEEK_HOLE retorna o início da próxima região
+     *
+     * @throws ErrnoException - ENXIO quando não há mais dados após offset
+     */
+    static long lseek(int fd, long offset, int whence) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long result = (long) LSEEK.invokeExact(capture, fd, offset, whence);
+            if (result < 0) {
+                throw new ErrnoException("lseek", errno(capture));
+            }
+            return result;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa lseek", t);
+        }
+    }
+
+    /**
+     * ioctl(FICLONE) - destFd passa a compartilhar todas as extensões de
+     * sourceFd (copy-on-write); nenhum dado é lido ou escrito
+     */
+    static void ficlone(int destFd, int sourceFd) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int result = (int) IOCTL.invokeExact(capture, destFd, FICLONE, sourceFd);
+            if (result != 0) {
+                throw new ErrnoException("ioctl(FICLONE)", errno(capture));
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa ioctl", t);
+        }
+    }
+
+    /**
+     * ESPAÇO REALMENTE ALOCADO EM DISCO (st_blocks * 512) VIA statx(2)
+     */
+    static long allocatedBytes(String path) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            MemorySegment buffer = arena.allocate(STATX_STRUCT_SIZE, 8);
+            int result = (int) STATX.invokeExact(capture, AT_FDCWD, toCString(arena, path), 0,
+                    STATX_SIZE | STATX_BLOCKS, buffer);
+            if (result != 0) {
+                throw new ErrnoException("statx(" + path + ")", errno(capture));
+            }
+            // st_blocks é sempre em unidades de 512 bytes, independente do bloco do FS
+            return buffer.get(ValueLayout.JAVA_LONG, STATX_BLOCKS_OFFSET) * 512;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa statx", t);
+        }
+    }
+
+    /**
+     * posix_fadvise(2) - a função retorna o código de erro em vez de usar errno
+     */
+    static void posixFadvise(int fd, long offset, long length, int advice) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int error = (int) POSIX_FADVISE.invokeExact(capture, fd, offset, length, advice);
+            if (error != 0) {
+                throw new ErrnoException("posix_fadvise", error);
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa posix_fadvise", t);
+        }
+    }
+
+    /**
+     * fallocate(2) - reserva blocos para [offset, offset + length)
+     */
+    static void fallocate(int fd, int mode, long offset, long length) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int result = (int) FALLOCATE.invokeExact(capture, fd, mode, offset, length);
+            if (result != 0) {
+                throw new ErrnoException("fallocate", errno(capture));
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa fallocate", t);
+        }
+    }
+
+    /**
+     * sync_file_range(2) - inicia e/ou aguarda o writeback de uma faixa
+     */
+    static void syncFileRange(int fd, long offset, long length, int flags) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int result = (int) SYNC_FILE_RANGE.invokeExact(capture, fd, offset, length, flags);
+            if (result != 0) {
+                throw new ErrnoException("sync_file_range", errno(capture));
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa sync_file_range", t);
+        }
+    }
+
+    /**
+     * mmap(2) DE UM DESCRITOR - retorna o segmento já dimensionado
+     */
+    static MemorySegment mmap(long length, int prot, int flags, int fd, long offset) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            MemorySegment address = (MemorySegment) MMAP.invokeExact(capture, MemorySegment.NULL, length,
+                    prot, flags, fd, offset);
+            if (address.address() == -1L) { // MAP_FAILED
+                throw new ErrnoException("mmap", errno(capture));
+            }
+            return address.reinterpret(length);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa mmap", t);
+        }
+    }
+
+    /**
+     * munmap(2) DE UM SEGMENTO OBTIDO POR mmap (erros são ignorados)
+     */
+    static void munmap(MemorySegment segment) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            int ignored = (int) MUNMAP.invokeExact(capture, segment, segment.byteSize());
+        } catch (Throwable t) {
+            // o mapeamento é liberado no fim do processo de qualquer forma
+        }
+    }
+
+    /**
+     * io_uring_setup(2) - retorna o descritor do anel; params é preenchido pelo kernel
+     */
+    static int ioUringSetup(int entries, MemorySegment params) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long fd = (long) IO_URING_SETUP.invokeExact(capture, SYS_IO_URING_SETUP, entries, params);
+            if (fd < 0) {
+                throw new ErrnoException("io_uring_setup", errno(capture));
+            }
+            return (int) fd;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa io_uring_setup", t);
+        }
+    }
+
+    /**
+     * io_uring_enter(2) - submete toSubmit entradas e aguarda minComplete conclusões
+     *
+     * @return int - número de entradas consumidas pelo kernel
+     */
+    static int ioUringEnter(int ringFd, int toSubmit, int minComplete, int flags) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long result = (long) IO_URING_ENTER.invokeExact(capture, SYS_IO_URING_ENTER, ringFd, toSubmit,
+                    minComplete, flags, MemorySegment.NULL, 0L);
+            if (result < 0) {
+                throw new ErrnoException("io_uring_enter", errno(capture));
+            }
+            return (int) result;
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa io_uring_enter", t);
+        }
+    }
+
+    /**
+     * io_uring_register(2) - registra recursos (ex: buffers fixos) no anel
+     */
+    static void ioUringRegister(int ringFd, int opcode, MemorySegment arg, int count) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment capture = arena.allocate(CAPTURE_LAYOUT);
+            long result = (long) IO_URING_REGISTER.invokeExact(capture, SYS_IO_URING_REGISTER, ringFd, opcode,
+                    arg, count);
+            if (result < 0) {
+                throw new ErrnoException("io_uring_register", errno(capture));
+            }
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IOException("Falha na chamada nativa io_uring_register", t);
+        }
+    }
+
+    /**
+     * NOME SIMBÓLICO DOS errno MAIS COMUNS NESTAS OPERAÇÕES
+     */
+    static String errnoName(int errno) {
+        switch (errno) {
+            case EPERM:
+                return "EPERM";
+            case EINTR:
+                return "EINTR";
+            case ENXIO:
+                return "ENXIO";
+            case EAGAIN:
+                return "EAGAIN";
+            case ENOMEM:
+                return "ENOMEM";
+            case EBUSY:
+                return "EBUSY";
+            case EXDEV:
+                return "EXDEV";
+            case EINVAL:
+                return "EINVAL";
+            case ENOTTY:
+                return "ENOTTY";
+            case ENOSYS:
+                return "ENOSYS";
+            case EOPNOTSUPP:
+                return "EOPNOTSUPP";
+            default:
+                return "errno " + errno;
+        }
+    }
+
+    private static MethodHandle bind(String name, FunctionDescriptor descriptor, Linker.Option... options) {
+        SymbolLookup libc = LINKER.defaultLookup();
+        MemorySegment symbol = libc.find(name)
+                .orElseThrow(() -> new UnsatisfiedLinkError("símbolo não encontrado: " + name));
+
+        Linker.Option[] allOptions = new Linker.Option[options.length + 1];
+        allOptions[0] = Linker.Option.captureCallState("errno");
+        System.arraycopy(options, 0, allOptions, 1, options.length);
+        return LINKER.downcallHandle(symbol, descriptor, allOptions);
+    }
+
+    private static int errno(MemorySegment capture) {
+        return capture.get(ValueLayout.JAVA_INT, ERRNO_OFFSET);
+    }
+
+    /**
+     * CONVERTE UMA STRING JAVA EM STRING C TERMINADA EM NUL
+     */
+    private static MemorySegment toCString(Arena arena, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        MemorySegment segment = arena.allocate(bytes.length + 1);
+        MemorySegment.copy(bytes, 0, segment, ValueLayout.JAVA_BYTE, 0, bytes.length);
+        segment.set(ValueLayout.JAVA_BYTE, bytes.length, (byte) 0);
+        return segment;
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ * ENUM: LogLevel
+ * DESCRIÇÃO: Quantidade de mensagens escritas no console, selecionada com
+ * --log=NOME (ver ConsoleLog). Erros e avisos aparecem em qualquer nível.
+ */
+enum LogLevel {
+
+    QUIET("quiet", "apenas erros e avisos"),
+    NORMAL("normal", "fases, progresso e relatório"),
+    VERBOSE("verbose", "inclui detalhes de limpeza, tempos e decisões internas");
+
+    private final String argumentName;
+    private final String description;
+
+    LogLevel(String argumentName, String description) {
+        this.argumentName = argumentName;
+        this.description = description;
+    }
+
+    /**
+     * NOME USADO NA LINHA DE COMANDO (ex: --log=verbose)
+     */
+    String argumentName() {
+        return argumentName;
+    }
+
+    /**
+     * DESCRIÇÃO EXIBIDA NA AJUDA DE --log
+     */
+    String description() {
+        return description;
+    }
+
+    /**
+     * CONVERTE O ARGUMENTO DA LINHA DE COMANDO NO NÍVEL CORRESPONDENTE
+     *
+     * @throws IllegalArgumentException - se o nome não corresponder a nenhum nível
+     */
+    static LogLevel fromArgument(String name) {
+        for (LogLevel level : values()) {
+            if (level.argumentName.equalsIgnoreCase(name)) {
+                return level;
+            }
+        }
+        throw new IllegalArgumentException("Nível de log desconhecido: " + name);
+    }
+}
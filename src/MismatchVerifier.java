@@ -0,0 +1,126 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CLASSE: MismatchVerifier
+ * DESCRIÇÃO: Verificação pós-cópia por comparação direta de bytes
+ * (--verify=compare). Fonte e destino são mapeados em janelas de
+ * --mmap-window bytes e comparados com MemorySegment.mismatch, que o JIT
+ * vetoriza - sem custo de hash, limitado pela banda de memória/leitura.
+ *
+ * As janelas são distribuídas entre --threads workers de um ForkJoinPool.
+ * Cada worker mapeia as suas janelas em uma Arena confinada própria; janelas
+ * posteriores à menor diferença já encontrada não são mais comparadas.
+ */
+final class MismatchVerifier {
+
+    /**
+     * RESULTADO DA COMPARAÇÃO
+     */
+    static final class Result {
+        private final long comparedBytes;
+        private final long firstDifference;
+        private final int windows;
+
+        Result(long comparedBytes, long firstDifference, int windows) {
+            this.comparedBytes = comparedBytes;
+            this.firstDifference = firstDifference;
+            this.windows = windows;
+        }
+
+        boolean matches() {
+            return firstDifference < 0;
+        }
+
+        long comparedBytes() {
+            return comparedBytes;
+        }
+
+        /**
+         * OFFSET DO PRIMEIRO BYTE DIFERENTE (-1 se os arquivos são iguais)
+         */
+        long firstDifference() {
+            return firstDifference;
+        }
+
+        int windows() {
+            return windows;
+        }
+    }
+
+    private MismatchVerifier() {
+    }
+
+    /**
+     * COMPARA OS DOIS ARQUIVOS JANELA A JANELA
+     *
+     * @param windowSize - bytes mapeados por janela em cada arquivo
+     * @param threads    - paralelismo do ForkJoinPool
+     */
+    static Result verify(String sourceFile, String destFile, long windowSize, int threads) throws IOException {
+        try (FileChannel source = FileChannel.open(Paths.get(sourceFile), StandardOpenOption.READ);
+                FileChannel dest = FileChannel.open(Paths.get(destFile), StandardOpenOption.READ)) {
+            long sourceSize = source.size();
+            long destSize = dest.size();
+            long commonSize = Math.min(sourceSize, destSize);
+            AtomicLong firstDifference = new AtomicLong(Long.MAX_VALUE);
+
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (long start = 0; start < commonSize; start += windowSize) {
+                long windowStart = start;
+                long length = Math.min(windowSize, commonSize - start);
+                tasks.add(() -> {
+                    // UMA DIFERENÇA ANTERIOR JÁ DECIDE O RESULTADO
+                    if (windowStart > firstDifference.get()) {
+                        return null;
+                    }
+                    try (Arena arena = Arena.ofConfined()) {
+                        MemorySegment sourceWindow = source.map(FileChannel.MapMode.READ_ONLY, windowStart, length,
+                                arena);
+                        MemorySegment destWindow = dest.map(FileChannel.MapMode.READ_ONLY, windowStart, length, arena);
+                        long mismatch = sourceWindow.mismatch(destWindow);
+                        if (mismatch >= 0) {
+                            firstDifference.accumulateAndGet(windowStart + mismatch, Math::min);
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (Future<Void> result : pool.invokeAll(tasks)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Comparação interrompida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Falha em worker da comparação", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+
+            long difference = firstDifference.get();
+            if (difference == Long.MAX_VALUE) {
+                // CONTEÚDO COMUM IGUAL - tamanhos diferentes divergem no fim do menor
+                difference = (sourceSize == destSize) ? -1 : commonSize;
+            }
+            return new Result(commonSize, difference, tasks.size());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+/**
+ * CLASSE: PhaseProfiler
+ * DESCRIÇÃO: Perfil de tempo da execução com System.nanoTime - monotônico e
+ * com resolução de nanossegundos, então cópias abaixo de 1 ms não aparecem
+ * como "0 ms" no relatório. Acumula a duração de cada fase (Phase) e as
+ * latências de cada leitura e escrita por bloco (ver LatencyHistogram).
+ *
+ * O que cada motor mede como bloco:
+ * - buffered, direct, parallel, pipeline, resumable, sparse: cada chamada
+ *   de leitura e de escrita
+ * - transfer, kernel: cada chamada transferTo/copy_file_range/sendfile, que
+ *   lê e escreve no kernel - registrada como escrita
+ * - mmap: a cópia de cada janela mapeada - registrada como escrita
+ * - async, io_uring: do envio da operação até a sua conclusão (handler ou
+ *   CQE), inclusive o tempo na fila
+ * - byte: não mede - uma chamada por byte custaria mais que a própria cópia
+ */
+final class PhaseProfiler {
+
+    /**
+     * FASES MEDIDAS - BACKUP acontece dentro de VALIDATION e aparece recuado
+     */
+    enum Phase {
+        VALIDATION("Validação", false),
+        BACKUP("Backup", true),
+        INIT("Inicialização", false),
+        COPY("Cópia", false),
+        CLEANUP("Limpeza", false),
+        VERIFY("Verificação", false);
+
+        private final String label;
+        private final boolean nested;
+
+        Phase(String label, boolean nested) {
+            this.label = label;
+            this.nested = nested;
+        }
+
+        String label() {
+            return label;
+        }
+
+        /**
+         * true SE A FASE É PARTE DE OUTRA - não entra na soma do total
+         */
+        boolean nested() {
+            return nested;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final long[] phaseNanos = new long[Phase.values().length];
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    /**
+     * INÍCIO DE UMA MEDIÇÃO - passar o valor retornado para stop()
+     */
+    long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * ENCERRA A MEDIÇÃO E SOMA A DURAÇÃO À FASE
+     *
+     * @return long - duração desta medição em ns
+     */
+    long stop(Phase phase, long startedAt) {
+        long elapsed = System.nanoTime() - startedAt;
+        phaseNanos[phase.ordinal()] += elapsed;
+        return elapsed;
+    }
+
+    long nanos(Phase phase) {
+        return phaseNanos[phase.ordinal()];
+    }
+
+    /**
+     * TEMPO DESDE A CRIAÇÃO DO PERFIL
+     */
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * LATÊNCIA DE CADA CHAMADA DE LEITURA DE UM BLOCO DA FONTE
+     */
+    LatencyHistogram readLatency() {
+        return readLatency;
+    }
+
+    /**
+     * LATÊNCIA DE CADA CHAMADA DE ESCRITA DE UM BLOCO NO DESTINO
+     */
+    LatencyHistogram writeLatency() {
+        return writeLatency;
+    }
+
+    /**
+     * LINHAS DE LATÊNCIA PARA O RELATÓRIO DE PERFORMANCE (FASE 4)
+     */
+    void printLatencies() {
+        if (readLatency.count() == 0 && writeLatency.count() == 0) {
+            ConsoleLog.info("   Latência por bloco: não medida neste modo");
+            return;
+        }
+        printLatency("leitura", readLatency);
+        printLatency("escrita", writeLatency);
+    }
+
+    private static void printLatency(String name, LatencyHistogram histogram) {
+        if (histogram.count() == 0) {
+            return;
+        }
+        ConsoleLog.printf(LogLevel.NORMAL, "   Latência de %s: %,d chamadas | p50 %s | p99 %s | p999 %s | máx %s",
+                name, histogram.count(),
+                LatencyHistogram.formatNanos(histogram.percentile(50)),
+                LatencyHistogram.formatNanos(histogram.percentile(99)),
+                LatencyHistogram.formatNanos(histogram.percentile(99.9)),
+                LatencyHistogram.formatNanos(histogram.maxNanos()));
+        ConsoleLog.detail("   - Média de " + name + ": " + LatencyHistogram.formatNanos(histogram.meanNanos()));
+    }
+
+    /**
+     * TABELA DE FASES - impressa ao final, depois da verificação
+     */
+    void printPhases() {
+        ConsoleLog.info("\n === PERFIL DAS FASES (System.nanoTime) ===");
+        long measured = 0;
+        for (Phase phase : Phase.values()) {
+            long nanos = nanos(phase);
+            if (!phase.nested()) {
+                measured += nanos;
+            }
+            String name = phase.nested() ? "  - " + phase.label() : phase.label();
+            ConsoleLog.printf(LogLevel.NORMAL, "   %-16s %12.3f ms", name, nanos / 1_000_000.0);
+        }
+        long total = elapsedNanos();
+        ConsoleLog.printf(LogLevel.NORMAL, "   %-16s %12.3f ms", "Total", total / 1_000_000.0);
+        ConsoleLog.printf(LogLevel.VERBOSE, "   %-16s %12.3f ms", "Não medido", (total - measured) / 1_000_000.0);
+    }
+}
@@ -0,0 +1,184 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * CLASSE: PipelinedCopyEngine
+ * DESCRIÇÃO: Motor de cópia com leitura e escrita sobrepostas. Uma thread
+ * leitora preenche buffers de um pool e os entrega a uma thread escritora
+ * por uma fila sem locks (SpscRing); os buffers esvaziados voltam à leitora
+ * por uma segunda fila. Enquanto um lado espera o disco, o outro trabalha.
+ *
+ * O relatório mostra quanto tempo cada lado ficou bloqueado esperando o
+ * outro: leitora bloqueada = escrita é o gargalo, e vice-versa.
+ */
+class PipelinedCopyEngine implements CopyEngine {
+
+    // MARCADOR DE FIM DE ARQUIVO ENVIADO DA LEITORA PARA A ESCRITORA
+    private static final ByteBuffer END_OF_FILE = ByteBuffer.allocate(0);
+
+    // ESPERA: primeiro giro ativo curto, depois park
+    private static final int SPIN_ITERATIONS = 100;
+    private static final long PARK_NANOS = 20_000; // 20 µs
+
+    private final int poolSize;
+    private final int bufferSize;
+
+    PipelinedCopyEngine(int poolSize, int bufferSize) {
+        this.poolSize = poolSize;
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "pipeline (" + poolSize + " buffers de " + CopyOptions.formatSize(bufferSize)
+                + ", leitora e escritora dedicadas)";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        FileChannel source = context.inStream().getChannel();
+        FileChannel target = context.outStream().getChannel();
+
+        SpscRing<ByteBuffer> filled = new SpscRing<>(poolSize + 1);
+        SpscRing<ByteBuffer> free = new SpscRing<>(poolSize);
+        for (int i = 0; i < poolSize; i++) {
+            free.offer(ByteBuffer.allocateDirect(bufferSize));
+        }
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long[] readerBlockedNanos = new long[1];
+        long[] writerBlockedNanos = new long[1];
+        long[] bytesWritten = new long[1];
+
+        // LEITORA: buffer livre -> read -> fila de preenchidos
+        Thread reader = new Thread(() -> {
+            try {
+                while (failure.get() == null) {
+                    long waitStart = System.nanoTime();
+                    ByteBuffer buffer = awaitElement(free, failure);
+                    readerBlockedNanos[0] += System.nanoTime() - waitStart;
+                    if (buffer == null) {
+                        return;
+                    }
+
+                    buffer.clear();
+                    long readStart = System.nanoTime();
+                    int bytesRead = source.read(buffer);
+                    context.profiler().readLatency().record(System.nanoTime() - readStart);
+                    if (bytesRead < 0) {
+                        publish(filled, END_OF_FILE, failure);
+                        return;
+                    }
+                    buffer.flip();
+                    publish(filled, buffer, failure);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }, "copy-reader");
+
+        // ESCRITORA: fila de preenchidos -> write -> buffer livre
+        Thread writer = new Thread(() -> {
+            try {
+                while (failure.get() == null) {
+                    long waitStart = System.nanoTime();
+                    ByteBuffer buffer = awaitElement(filled, failure);
+                    writerBlockedNanos[0] += System.nanoTime() - waitStart;
+                    if (buffer == null || buffer == END_OF_FILE) {
+                        return;
+                    }
+
+                    int length = buffer.remaining();
+                    context.checksum().update(buffer); // apenas a escritora - em ordem
+                    long writeStart = System.nanoTime();
+                    while (buffer.hasRemaining()) {
+                        target.write(buffer);
+                    }
+                    context.profiler().writeLatency().record(System.nanoTime() - writeStart);
+                    bytesWritten[0] += length;
+                    context.progress().advance(length);
+                    publish(free, buffer, failure);
+                }
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }, "copy-writer");
+
+        reader.start();
+        writer.start();
+        joinWatchingInterruption(failure, reader, writer);
+
+        Throwable error = failure.get();
+        if (error instanceof InterruptedException) {
+            ConsoleLog.info("⚠ Operação interrompida pelo usuário!");
+        } else if (error instanceof IOException) {
+            throw (IOException) error;
+        } else if (error != null) {
+            throw new IOException("Falha no pipeline de cópia", error);
+        }
+
+        // join() garante a visibilidade dos contadores escritos pelas threads
+        context.addReportNote(String.format("Leitora bloqueada (sem buffer livre): %.1f ms",
+                readerBlockedNanos[0] / 1_000_000.0));
+        context.addReportNote(String.format("Escritora bloqueada (sem dados): %.1f ms",
+                writerBlockedNanos[0] / 1_000_000.0));
+        return bytesWritten[0];
+    }
+
+    /**
+     * AGUARDA AS DUAS THREADS; INTERRUPÇÃO DA THREAD CHAMADORA CANCELA O PIPELINE
+     * join() limpa a flag ao lançar: a interrupção é lembrada, a espera
+     * continua bloqueada (sem girar) e a flag é restaurada no final.
+     */
+    private static void joinWatchingInterruption(AtomicReference<Throwable> failure, Thread reader,
+            Thread writer) {
+        boolean interrupted = false;
+        while (reader.isAlive() || writer.isAlive()) {
+            try {
+                reader.join();
+                writer.join();
+            } catch (InterruptedException e) {
+                if (!interrupted) {
+                    interrupted = true;
+                    failure.compareAndSet(null, new InterruptedException());
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * RETIRA UM ELEMENTO DA FILA, ESPERANDO ENQUANTO ELA ESTIVER VAZIA
+     *
+     * @return null se o pipeline foi abortado durante a espera
+     */
+    private static ByteBuffer awaitElement(SpscRing<ByteBuffer> ring, AtomicReference<Throwable> failure) {
+        int spins = 0;
+        ByteBuffer element;
+        while ((element = ring.poll()) == null) {
+            if (failure.get() != null) {
+                return null;
+            }
+            if (spins++ < SPIN_ITERATIONS) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        return element;
+    }
+
+    /**
+     * INSERE NA FILA - nunca fica cheia, pois o pool limita os buffers em circulação
+     */
+    private static void publish(SpscRing<ByteBuffer> ring, ByteBuffer buffer, AtomicReference<Throwable> failure) {
+        while (!ring.offer(buffer) && failure.get() == null) {
+            Thread.onSpinWait();
+        }
+    }
+}
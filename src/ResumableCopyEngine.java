@@ -0,0 +1,181 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * CLASSE: ResumableCopyEngine
+ * DESCRIÇÃO: Motor de cópia retomável. O destino é escrito em blocos de
+ * CopyJournal.BLOCK_SIZE; ao fim de cada bloco o destino recebe force() e o
+ * CRC32C do bloco é anexado ao journal. Uma cópia interrompida (Ctrl+C, erro
+ * de I/O, queda de energia) deixa destino parcial e journal no disco.
+ *
+ * NA RETOMADA:
+ * 1. O journal é validado contra a fonte (tamanho e data de modificação)
+ * 2. Os últimos TAIL_VERIFY_BLOCKS blocos confirmados são relidos do destino
+ *    e comparados com o CRC32C registrado; a partir do primeiro divergente o
+ *    journal é descartado
+ * 3. A cópia continua do último offset confirmado
+ *
+ * Ao concluir, o destino é ajustado ao tamanho da fonte e o journal removido.
+ */
+class ResumableCopyEngine implements CopyEngine {
+
+    private static final int TAIL_VERIFY_BLOCKS = 2;
+
+    private final int bufferSize;
+
+    ResumableCopyEngine(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "resumable (checkpoints de " + CopyOptions.formatSize(CopyJournal.BLOCK_SIZE)
+                + " com CRC32C, buffer de " + CopyOptions.formatSize(bufferSize) + ")";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        FileChannel source = context.inStream().getChannel();
+        FileChannel target = context.outStream().getChannel();
+        long size = source.size();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+        CRC32C crc = new CRC32C();
+
+        CopyJournal journal = CopyJournal.open(context.sourceFile(), context.destFile());
+        boolean completed = false;
+        try {
+            int previouslyCommitted = journal.committedBlocks();
+            verifyTail(journal, context.destFile(), size, buffer, crc);
+            long startOffset = journal.committedOffset(size);
+
+            if (previouslyCommitted > 0) {
+                ConsoleLog.info("   Retomando a partir de " + startOffset + " bytes ("
+                        + journal.committedBlocks() + " blocos confirmados)");
+                int discarded = previouslyCommitted - journal.committedBlocks();
+                context.addReportNote("Retomada: " + startOffset + " bytes já presentes no destino | Blocos "
+                        + "descartados na verificação da cauda: " + discarded);
+            } else {
+                context.addReportNote("Retomada: nenhuma (journal novo)");
+            }
+
+            long position = startOffset;
+            int block = journal.committedBlocks();
+            int checkpoints = 0;
+
+            while (position < size) {
+                long blockEnd = Math.min(size, (long) (block + 1) * CopyJournal.BLOCK_SIZE);
+                crc.reset();
+
+                // UM BLOCO DO JOURNAL - copiado em pedaços do tamanho do buffer
+                while (position < blockEnd) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), blockEnd - position));
+                    long readStart = System.nanoTime();
+                    int bytesRead = source.read(buffer, position);
+                    context.profiler().readLatency().record(System.nanoTime() - readStart);
+                    if (bytesRead <= 0) {
+                        throw new IOException("Fonte encolheu durante a cópia (fim em " + position + " bytes)");
+                    }
+                    buffer.flip();
+                    crc.update(buffer.duplicate());
+                    writeFully(target, buffer, position, context.profiler().writeLatency());
+
+                    position += bytesRead;
+                    context.progress().advance(bytesRead);
+                }
+
+                // CHECKPOINT - dados duráveis antes do registro no journal
+                target.force(false);
+                journal.commit(block, (int) crc.getValue());
+                block++;
+                checkpoints++;
+
+                if (context.checkInterrupted()) {
+                    break;
+                }
+            }
+
+            context.addReportNote("Checkpoints gravados nesta execução: " + checkpoints);
+            if (position >= size) {
+                target.truncate(size);
+                completed = true;
+            } else {
+                ConsoleLog.info("   Journal mantido em " + CopyJournal.journalFile(context.destFile()).getName()
+                        + " - execute novamente com --mode=resumable para continuar");
+                context.addReportNote("Cópia incompleta: journal mantido para retomada");
+            }
+            return position - startOffset;
+        } finally {
+            if (completed) {
+                journal.delete(context.destFile());
+            } else {
+                journal.close();
+            }
+        }
+    }
+
+    /**
+     * RELÊ OS ÚLTIMOS BLOCOS CONFIRMADOS E DESCARTA OS QUE NÃO CONFEREM
+     */
+    private static void verifyTail(CopyJournal journal, String destFile, long size, ByteBuffer buffer,
+            CRC32C crc) throws IOException {
+        if (journal.committedBlocks() == 0) {
+            return;
+        }
+
+        // A STREAM DA FASE 2 É SOMENTE ESCRITA - a releitura usa um canal próprio
+        try (FileChannel target = FileChannel.open(Paths.get(destFile), StandardOpenOption.READ)) {
+            // DESTINO MENOR QUE O JOURNAL INDICA (ex: truncado externamente)
+            long destSize = target.size();
+            if (journal.committedOffset(size) > destSize) {
+                journal.rollback((int) (destSize / CopyJournal.BLOCK_SIZE));
+            }
+            verifyBlocks(journal, target, size, buffer, crc);
+        }
+    }
+
+    private static void verifyBlocks(CopyJournal journal, FileChannel target, long size, ByteBuffer buffer,
+            CRC32C crc) throws IOException {
+        int first = Math.max(0, journal.committedBlocks() - TAIL_VERIFY_BLOCKS);
+        for (int block = first; block < journal.committedBlocks(); block++) {
+            long position = (long) block * CopyJournal.BLOCK_SIZE;
+            long blockEnd = Math.min(size, position + CopyJournal.BLOCK_SIZE);
+            crc.reset();
+
+            while (position < blockEnd) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(), blockEnd - position));
+                int bytesRead = target.read(buffer, position);
+                if (bytesRead <= 0) {
+                    break;
+                }
+                buffer.flip();
+                crc.update(buffer);
+                position += bytesRead;
+            }
+
+            if (position < blockEnd || (int) crc.getValue() != journal.checksum(block)) {
+                ConsoleLog.info("   Bloco " + block + " do destino não confere com o journal - recopiando");
+                journal.rollback(block);
+                return;
+            }
+        }
+    }
+
+    /**
+     * ESCREVE O BUFFER INTEIRO EM position - uma amostra de latência por bloco
+     */
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position,
+            LatencyHistogram writeLatency) throws IOException {
+        long writeStart = System.nanoTime();
+        long writePosition = position;
+        while (buffer.hasRemaining()) {
+            writePosition += target.write(buffer, writePosition);
+        }
+        writeLatency.record(System.nanoTime() - writeStart);
+    }
+}
@@ -0,0 +1,165 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * CLASSE: SampledVerifier
+ * DESCRIÇÃO: Verificação pós-cópia por amostragem (--verify=sample). Em vez
+ * de reler os arquivos inteiros, compara o checksum de --samples blocos
+ * escolhidos ao acaso, além do primeiro e do último bloco, em fonte e
+ * destino, com leituras posicionais em ordem crescente de offset.
+ *
+ * GARANTIA ESTATÍSTICA:
+ * Vale só para os blocos internos (nem o primeiro nem o último), de onde
+ * saem as amostras. Se uma fração f deles estiver corrompida, n amostras
+ * deixam de encontrá-la com probabilidade de no máximo (1 - f)^n (sorteio
+ * sem repetição só diminui esse valor). Com 95% de confiança, a fração
+ * corrompida é menor que 1 - 0.05^(1/n) - ex: 256 amostras limitam a
+ * corrupção a ~1,2% dos blocos internos. Cabeça e cauda são sempre lidas,
+ * então não entram na conta e são informadas à parte. Falhas localizadas
+ * (um único bloco interno) só são detectadas por --verify=checksum, tree
+ * ou compare.
+ */
+final class SampledVerifier {
+
+    static final double CONFIDENCE = 0.95;
+
+    /**
+     * RESULTADO DA AMOSTRAGEM
+     */
+    static final class Result {
+        private final int fixedBlocks;
+        private final int randomBlocks;
+        private final long totalBlocks;
+        private final long sampledBytes;
+        private final long firstMismatch;
+        private final double maxCorruptedFraction;
+
+        Result(int fixedBlocks, int randomBlocks, long totalBlocks, long sampledBytes, long firstMismatch,
+                double maxCorruptedFraction) {
+            this.fixedBlocks = fixedBlocks;
+            this.randomBlocks = randomBlocks;
+            this.totalBlocks = totalBlocks;
+            this.sampledBytes = sampledBytes;
+            this.firstMismatch = firstMismatch;
+            this.maxCorruptedFraction = maxCorruptedFraction;
+        }
+
+        boolean matches() {
+            return firstMismatch < 0;
+        }
+
+        int sampledBlocks() {
+            return fixedBlocks + randomBlocks;
+        }
+
+        /**
+         * BLOCOS LIDOS SEMPRE - o primeiro e o último (0 a 2)
+         */
+        int fixedBlocks() {
+            return fixedBlocks;
+        }
+
+        /**
+         * BLOCOS SORTEADOS ENTRE OS INTERNOS - base da garantia estatística
+         */
+        int randomBlocks() {
+            return randomBlocks;
+        }
+
+        /**
+         * BLOCOS INTERNOS - a população do sorteio
+         */
+        long interiorBlocks() {
+            return totalBlocks - fixedBlocks;
+        }
+
+        long totalBlocks() {
+            return totalBlocks;
+        }
+
+        long sampledBytes() {
+            return sampledBytes;
+        }
+
+        /**
+         * OFFSET DO PRIMEIRO BLOCO AMOSTRADO DIVERGENTE (-1 se nenhum)
+         */
+        long firstMismatch() {
+            return firstMismatch;
+        }
+
+        /**
+         * FRAÇÃO MÁXIMA DE BLOCOS INTERNOS CORROMPIDOS COMPATÍVEL COM O
+         * RESULTADO, COM CONFIDENCE de confiança (0 quando todos foram lidos)
+         */
+        double maxCorruptedFraction() {
+            return maxCorruptedFraction;
+        }
+    }
+
+    private SampledVerifier() {
+    }
+
+    /**
+     * SORTEIA E COMPARA OS BLOCOS
+     *
+     * @param checksum  - define o algoritmo (CRC32C se desativado)
+     * @param blockSize - tamanho de cada bloco amostrado
+     * @param samples   - blocos internos sorteados, além do primeiro e do último
+     */
+    static Result verify(String sourceFile, String destFile, CopyChecksum checksum, int blockSize, int samples)
+            throws IOException {
+        CopyChecksum blockChecksum = checksum.enabled() ? checksum
+                : new CopyChecksum(CopyChecksum.Algorithm.CRC32C);
+
+        try (FileChannel source = FileChannel.open(Paths.get(sourceFile), StandardOpenOption.READ);
+                FileChannel dest = FileChannel.open(Paths.get(destFile), StandardOpenOption.READ)) {
+            long size = source.size();
+            if (dest.size() != size) {
+                // TAMANHOS DIFERENTES - a divergência começa no fim do menor
+                return new Result(0, 0, 0, 0, Math.min(size, dest.size()), 1.0);
+            }
+            long totalBlocks = (size + blockSize - 1) / blockSize;
+
+            // CABEÇA E CAUDA, MAIS O SORTEIO SEM REPETIÇÃO ENTRE OS BLOCOS
+            // INTERNOS [1, totalBlocks - 1) - ordenados por offset
+            TreeSet<Long> blocks = new TreeSet<>();
+            if (totalBlocks > 0) {
+                blocks.add(0L);
+                blocks.add(totalBlocks - 1);
+            }
+            int fixedBlocks = blocks.size();
+            long interiorBlocks = totalBlocks - fixedBlocks;
+            int randomBlocks = (int) Math.min(interiorBlocks, samples);
+            SplittableRandom random = new SplittableRandom();
+            while (blocks.size() < fixedBlocks + randomBlocks) {
+                blocks.add(1 + random.nextLong(interiorBlocks));
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(blockSize);
+            long sampledBytes = 0;
+            long firstMismatch = -1;
+            for (long block : blocks) {
+                long start = block * blockSize;
+                long end = Math.min(size, start + blockSize);
+                String sourceDigest = blockChecksum.digestOfRange(source, start, end, buffer);
+                String destDigest = blockChecksum.digestOfRange(dest, start, end, buffer);
+                sampledBytes += end - start;
+                if (!sourceDigest.equals(destDigest)) {
+                    firstMismatch = start;
+                    break;
+                }
+            }
+
+            double maxCorruptedFraction = (randomBlocks >= interiorBlocks) ? 0
+                    : 1 - Math.pow(1 - CONFIDENCE, 1.0 / randomBlocks);
+            return new Result(fixedBlocks, randomBlocks, totalBlocks, sampledBytes, firstMismatch,
+                    maxCorruptedFraction);
+        }
+    }
+}
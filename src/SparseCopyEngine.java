@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * CLASSE: SparseCopyEngine
+ * DESCRIÇÃO: Motor de cópia que preserva buracos de arquivos esparsos (imagens
+ * de VM, arquivos de banco de dados). Somente as regiões com dados são
+ * escritas; os buracos continuam sem blocos alocados no destino.
+ *
+ * DETECÇÃO DAS REGIÕES:
+ * 1. lseek(SEEK_DATA/SEEK_HOLE) via FFM - exato e sem ler os buracos
+ * 2. Fallback: leitura em blocos de ZERO_BLOCK_SIZE bytes; blocos inteiramente
+ *    zerados não são escritos (também esparsifica arquivos densos com zeros)
+ *
+ * No fim o destino recebe o tamanho lógico da fonte com ftruncate, o que
+ * cria o buraco final quando o arquivo termina em uma região vazia.
+ */
+class SparseCopyEngine implements CopyEngine {
+
+    private static final int ZERO_BLOCK_SIZE = 4096;
+
+    private final int bufferSize;
+
+    SparseCopyEngine(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    @Override
+    public String describe() {
+        return "sparse (preserva buracos, buffer de " + CopyOptions.formatSize(bufferSize) + ")";
+    }
+
+    @Override
+    public long copy(CopyContext context) throws IOException {
+        FileChannel source = context.inStream().getChannel();
+        FileChannel target = context.outStream().getChannel();
+        long size = source.size();
+        Stats stats = new Stats();
+
+        boolean copied = false;
+        if (LinuxNative.isAvailable()) {
+            copied = copyWithSeekData(context, source, target, size, stats);
+        }
+        if (!copied) {
+            copyWithZeroDetection(context, source, target, size, stats);
+        }
+
+        // TAMANHO LÓGICO FINAL - estende o destino sem alocar blocos
+        try (RandomAccessFile dest = new RandomAccessFile(context.destFile(), "rw")) {
+            if (dest.length() < stats.logicalEnd) {
+                dest.setLength(stats.logicalEnd);
+            }
+        }
+
+        context.addReportNote("Detecção de buracos: " + stats.method);
+        context.addReportNote("Regiões com dados: " + stats.dataRegions + " | Dados escritos: "
+                + stats.dataBytes + " bytes | Buracos preservados: " + (stats.logicalEnd - stats.dataBytes)
+                + " bytes");
+        return stats.logicalEnd;
+    }
+
+    /**
+     * PERCORRE AS REGIÕES COM SEEK_DATA/SEEK_HOLE
+     *
+     * @return boolean - false se o sistema de arquivos não suporta SEEK_DATA
+     */
+    private boolean copyWithSeekData(CopyContext context, FileChannel source, FileChannel target, long size,
+            Stats stats) throws IOException {
+        int fd = LinuxNative.open(context.sourceFile(), LinuxNative.O_RDONLY);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+            long position = 0;
+
+            while (position < size) {
+                long dataStart;
+                try {
+                    dataStart = LinuxNative.lseek(fd, position, LinuxNative.SEEK_DATA);
+                } catch (LinuxNative.ErrnoException e) {
+                    if (e.errno() == LinuxNative.ENXIO) {
+                        break; // só há buraco até o fim do arquivo
+                    }
+                    if (e.errno() == LinuxNative.EINVAL && position == 0) {
+                        return false;
+                    }
+                    throw e;
+                }
+                long dataEnd = Math.min(size, LinuxNative.lseek(fd, dataStart, LinuxNative.SEEK_HOLE));
+
+                context.progress().advance(dataStart - position); // buraco pulado
+                long reached = copyRange(context, source, target, buffer, dataStart, dataEnd, stats);
+                stats.dataRegions++;
+                position = reached;
+
+                if (reached < dataEnd) {
+                    // FONTE ENCOLHEU - o tamanho lógico para onde os dados acabaram, sem
+                    // completar com zeros: a cópia aparece como incompleta e é descartada
+                    context.addReportNote("AVISO: fonte encolheu durante a cópia (" + reached + " de " + size
+                            + " bytes lidos)");
+                    stats.logicalEnd = reached;
+                    stats.method = "lseek(SEEK_DATA/SEEK_HOLE)";
+                    return true;
+                }
+                if (context.checkInterrupted()) {
+                    stats.logicalEnd = position;
+                    stats.method = "lseek(SEEK_DATA/SEEK_HOLE)";
+                    return true;
+                }
+            }
+
+            if (position < size) {
+                context.progress().advance(size - position);
+            }
+            // BURACO FINAL - só vale até o tamanho atual, caso a fonte tenha encolhido nele
+            stats.logicalEnd = Math.min(size, source.size());
+            stats.method = "lseek(SEEK_DATA/SEEK_HOLE)";
+            return true;
+        } finally {
+            LinuxNative.close(fd);
+        }
+    }
+
+    /**
+     * FALLBACK: LÊ TUDO E ESCREVE APENAS OS BLOCOS NÃO ZERADOS
+     */
+    private void copyWithZeroDetection(CopyContext context, FileChannel source, FileChannel target, long size,
+            Stats stats) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize / ZERO_BLOCK_SIZE * ZERO_BLOCK_SIZE);
+        byte[] data = buffer.array();
+        long position = 0;
+        boolean previousBlockHadData = false;
+
+        while (position < size) {
+            buffer.clear();
+            long readStart = System.nanoTime();
+            int bytesRead = source.read(buffer, position);
+            context.profiler().readLatency().record(System.nanoTime() - readStart);
+            if (bytesRead <= 0) {
+                break;
+            }
+
+            // AGRUPA BLOCOS COM DADOS CONSECUTIVOS EM UMA ÚNICA ESCRITA
+            int runStart = -1;
+            for (int offset = 0; offset < bytesRead; offset += ZERO_BLOCK_SIZE) {
+                int blockEnd = Math.min(bytesRead, offset + ZERO_BLOCK_SIZE);
+                boolean hasData = !isZero(data, offset, blockEnd);
+
+                if (hasData && runStart < 0) {
+                    runStart = offset;
+                    if (!previousBlockHadData) {
+                        stats.dataRegions++;
+                    }
+                } else if (!hasData && runStart >= 0) {
+                    writeFully(target, ByteBuffer.wrap(data, runStart, offset - runStart), position + runStart,
+                            context.profiler().writeLatency());
+                    stats.dataBytes += offset - runStart;
+                    runStart = -1;
+                }
+                previousBlockHadData = hasData;
+            }
+            if (runStart >= 0) {
+                writeFully(target, ByteBuffer.wrap(data, runStart, bytesRead - runStart), position + runStart,
+                        context.profiler().writeLatency());
+                stats.dataBytes += bytesRead - runStart;
+            }
+
+            position += bytesRead;
+            context.progress().advance(bytesRead);
+
+            if (context.checkInterrupted()) {
+                break;
+            }
+        }
+
+        stats.logicalEnd = position;
+        stats.method = "detecção de blocos zerados (" + ZERO_BLOCK_SIZE + " bytes)";
+    }
+
+    /**
+     * COPIA A REGIÃO DE DADOS [start, end)
+     *
+     * @return long - posição alcançada (menor que end se a fonte encolheu)
+     */
+    private static long copyRange(CopyContext context, FileChannel source, FileChannel target, ByteBuffer buffer,
+            long start, long end, Stats stats) throws IOException {
+        long position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), end - position));
+            long readStart = System.nanoTime();
+            int bytesRead = source.read(buffer, position);
+            context.profiler().readLatency().record(System.nanoTime() - readStart);
+            if (bytesRead <= 0) {
+                break;
+            }
+            buffer.flip();
+            writeFully(target, buffer, position, context.profiler().writeLatency());
+
+            position += bytesRead;
+            stats.dataBytes += bytesRead;
+            context.progress().advance(bytesRead);
+        }
+        return position;
+    }
+
+    /**
+     * ESCREVE O BUFFER INTEIRO EM position - uma amostra de latência por bloco
+     */
+    private static void writeFully(FileChannel target, ByteBuffer buffer, long position,
+            LatencyHistogram writeLatency) throws IOException {
+        long writeStart = System.nanoTime();
+        long writePosition = position;
+        while (buffer.hasRemaining()) {
+            writePosition += target.write(buffer, writePosition);
+        }
+        writeLatency.record(System.nanoTime() - writeStart);
+    }
+
+    private static boolean isZero(byte[] data, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * CONTADORES PARA O RELATÓRIO
+     */
+    private static final class Stats {
+        long logicalEnd;
+        long dataBytes;
+        int dataRegions;
+        String method;
+    }
+}
@@ -0,0 +1,60 @@
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CLASSE: SpscRing
+ * DESCRIÇÃO: Fila circular limitada, sem locks, para exatamente um produtor e
+ * um consumidor (single-producer/single-consumer). Cada lado só escreve o
+ * próprio índice; a publicação usa lazySet (release), que basta para a
+ * ordenação entre as duas threads.
+ *
+ * @param <T> - tipo dos elementos; null não é aceito
+ */
+final class SpscRing<T> {
+
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong(); // próximo a consumir
+    private final AtomicLong tail = new AtomicLong(); // próximo a produzir
+
+    /**
+     * @param minCapacity - capacidade mínima (arredondada para potência de 2)
+     */
+    SpscRing(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, minCapacity - 1)) << 1;
+        slots = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * INSERE UM ELEMENTO (somente a thread produtora)
+     *
+     * @return boolean - false se a fila está cheia
+     */
+    boolean offer(T element) {
+        long currentTail = tail.get();
+        if (currentTail - head.get() == slots.length) {
+            return false;
+        }
+        slots[(int) currentTail & mask] = element;
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * REMOVE UM ELEMENTO (somente a thread consumidora)
+     *
+     * @return T - o elemento, ou null se a fila está vazia
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return null;
+        }
+        int index = (int) currentHead & mask;
+        T element = (T) slots[index];
+        slots[index] = null;
+        head.lazySet(currentHead + 1);
+        return element;
+    }
+}
@@ -0,0 +1,202 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributes;
+
+/**
+ * CLASSE: StagedDestination
+ * DESCRIÇÃO: Arquivo efetivamente escrito pela cópia. Com --atomic=true
+ * o novo conteúdo vai para um temporário de nome único no mesmo
+ * diretório (Files.createTempFile, sufixo TEMP_EXTENSION) e só substitui o
+ * destino ao final, com um rename atômico: leitores nunca veem um destino
+ * pela metade, e duas cópias simultâneas para o mesmo destino não escrevem
+ * no mesmo temporário. O destino antigo nunca é truncado, então o backup
+ * pode ser apenas um hard link para ele.
+ *
+ * Antes do rename o temporário recebe as permissões, o dono/grupo e, onde o
+ * sistema de arquivos expõe AclFileAttributeView, a ACL do destino antigo
+ * (ou as permissões da fonte, se o destino ainda não existe) e é
+ * sincronizado segundo --durability (ver FileSync). Sem troca atômica
+ * (--atomic=false, o padrão, ou --mode=resumable, que retoma o próprio
+ * destino) a cópia reescreve o inode do destino no lugar.
+ *
+ * LIMITAÇÕES DO RENAME: o destino passa a ser um inode novo.
+ * - Outros hard links para o destino antigo continuam com o conteúdo antigo
+ * - Processos com o destino aberto seguem lendo a versão antiga
+ * - Um destino que é link simbólico é substituído por um arquivo comum
+ * - Atributos estendidos (xattr) e ACLs POSIX do Linux (setfacl), que o JDK
+ *   não expõe, não são copiados
+ * Por isso a troca atômica é opcional, e renameCaveat() avisa quando o
+ * destino é um link simbólico ou tem outros hard links.
+ */
+final class StagedDestination {
+
+    static final String TEMP_EXTENSION = ".tmp";
+
+    private final String sourceFile;
+    private final String destFile;
+    private final boolean staged;
+    private String writeFile;
+
+    private StagedDestination(String sourceFile, String destFile, boolean staged) {
+        this.sourceFile = sourceFile;
+        this.destFile = destFile;
+        this.staged = staged;
+        this.writeFile = staged ? null : destFile;
+    }
+
+    /**
+     * DEFINE ONDE A CÓPIA ESCREVE SEGUNDO AS OPÇÕES - o temporário só é
+     * criado em createWriteFile(), depois das validações
+     */
+    static StagedDestination forOptions(CopyOptions options) {
+        boolean staged = options.atomic() && options.mode() != CopyMode.RESUMABLE;
+        return new StagedDestination(options.sourceFile(), options.destFile(), staged);
+    }
+
+    /**
+     * true SE A CÓPIA ESCREVE EM UM TEMPORÁRIO TROCADO NO FINAL
+     */
+    boolean staged() {
+        return staged;
+    }
+
+    /**
+     * CRIA O TEMPORÁRIO DE NOME ÚNICO AO LADO DO DESTINO (sem efeito se não
+     * houver troca atômica) - o mesmo diretório garante o rename atômico
+     *
+     * @return String - arquivo em que a cópia deve escrever
+     */
+    String createWriteFile() throws IOException {
+        if (staged && writeFile == null) {
+            Path dest = Paths.get(destFile).toAbsolutePath();
+            writeFile = Files.createTempFile(dest.getParent(), dest.getFileName() + ".", TEMP_EXTENSION)
+                    .toString();
+        }
+        return writeFile;
+    }
+
+    /**
+     * O QUE A TROCA ATÔMICA MUDARIA NESTE DESTINO ALÉM DO CONTEÚDO
+     *
+     * @return String - descrição para o aviso, ou null se nada se perde
+     */
+    String renameCaveat() {
+        if (!staged) {
+            return null;
+        }
+        Path dest = Paths.get(destFile);
+        if (Files.isSymbolicLink(dest)) {
+            return "o link simbólico será substituído por um arquivo comum";
+        }
+        try {
+            int links = (Integer) Files.getAttribute(dest, "unix:nlink", LinkOption.NOFOLLOW_LINKS);
+            if (links > 1) {
+                return "os outros " + (links - 1) + " hard link(s) continuarão com o conteúdo antigo";
+            }
+        } catch (IOException | UnsupportedOperationException | IllegalArgumentException e) {
+            // SEM A VISÃO "unix" (ex: Windows) - contagem de links indisponível
+        }
+        return null;
+    }
+
+    /**
+     * ARQUIVO ESCRITO PELA CÓPIA - o destino enquanto o temporário não foi criado
+     */
+    String writeFile() {
+        return (writeFile != null) ? writeFile : destFile;
+    }
+
+    /**
+     * TORNA O DESTINO DURÁVEL E, SE HOUVER TEMPORÁRIO, SUBSTITUI O DESTINO POR
+     * ELE - rename(2) atômico no mesmo sistema de arquivos; o inode antigo
+     * sobrevive pelo hard link do backup
+     */
+    void commit(FileSync sync) throws IOException {
+        if (staged) {
+            copyAttributes();
+        }
+
+        // O CONTEÚDO PRECISA ESTAR EM DISCO ANTES DE O RENAME TORNÁ-LO VISÍVEL
+        sync.syncFile(Paths.get(writeFile()));
+
+        if (staged) {
+            Files.move(Paths.get(writeFile), Paths.get(destFile), StandardCopyOption.ATOMIC_MOVE);
+        }
+        // UM fsync DO DIRETÓRIO COBRE O RENAME E O BACKUP/ROTAÇÃO REGISTRADOS ANTES
+        sync.addDirectoryOf(Paths.get(destFile), staged);
+        sync.flush();
+    }
+
+    /**
+     * PERMISSÕES, DONO E ACL DO DESTINO ANTIGO PARA O TEMPORÁRIO
+     * createTempFile cria o arquivo com 0600; sem esta etapa o rename
+     * trocaria as permissões do destino. Destino novo recebe as permissões
+     * da fonte (como cp --preserve=mode) e o dono do processo.
+     */
+    private void copyAttributes() throws IOException {
+        Path temp = Paths.get(writeFile);
+        Path dest = Paths.get(destFile);
+        boolean replacing = Files.exists(dest);
+        Path template = replacing ? dest : Paths.get(sourceFile);
+
+        PosixFileAttributeView tempView = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+        if (tempView != null) {
+            PosixFileAttributes attributes = Files.readAttributes(template, PosixFileAttributes.class);
+            PosixFileAttributes current = tempView.readAttributes();
+            // SEM CAP_CHOWN só é possível trocar para um grupo do próprio usuário
+            try {
+                if (replacing && !attributes.owner().equals(current.owner())) {
+                    tempView.setOwner(attributes.owner());
+                }
+                if (replacing && !attributes.group().equals(current.group())) {
+                    tempView.setGroup(attributes.group());
+                }
+            } catch (IOException e) {
+                ConsoleLog.warn("    AVISO: dono/grupo do destino não preservado (" + e.getMessage() + ")");
+            }
+            // DEPOIS DO chown, QUE LIMPA OS BITS setuid/setgid
+            tempView.setPermissions(attributes.permissions());
+        }
+
+        AclFileAttributeView tempAcl = Files.getFileAttributeView(temp, AclFileAttributeView.class);
+        AclFileAttributeView destAcl = Files.getFileAttributeView(dest, AclFileAttributeView.class);
+        if (replacing && tempAcl != null && destAcl != null) {
+            tempAcl.setAcl(destAcl.getAcl());
+        }
+    }
+
+    /**
+     * DESCARTA O TEMPORÁRIO DE UMA CÓPIA QUE FALHOU - o destino fica intacto
+     */
+    void discard() {
+        if (!staged || writeFile == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Paths.get(writeFile));
+        } catch (IOException e) {
+            ConsoleLog.error("   Não foi possível remover o temporário " + new File(writeFile).getName()
+                    + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * BACKUP POR HARD LINK - custo O(1), nenhum byte copiado
+     *
+     * @param backup - caminho do backup (substituído se existir)
+     * @param sync   - recebe o diretório do link para o fsync em lote
+     */
+    static void linkBackup(String destFile, String backup, FileSync sync) throws IOException {
+        Path backupPath = Paths.get(backup);
+        Files.deleteIfExists(backupPath);
+        Files.createLink(backupPath, Paths.get(destFile));
+        sync.addDirectoryOf(backupPath, true);
+    }
+}
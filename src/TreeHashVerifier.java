@@ -0,0 +1,189 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * CLASSE: TreeHashVerifier
+ * DESCRIÇÃO: Verificação pós-cópia em árvore de hashes (--verify=tree). Fonte
+ * e destino são divididos em faixas de chunkSize bytes; cada faixa dos dois
+ * arquivos é resumida por um worker de um ForkJoinPool com leituras
+ * posicionais. As folhas são combinadas par a par com SHA-256 até a raiz
+ * (estilo Merkle).
+ *
+ * Como as folhas são comparadas uma a uma, uma divergência aponta a faixa
+ * exata a recopiar, em vez de apenas "o arquivo difere".
+ */
+final class TreeHashVerifier {
+
+    private static final int READ_BUFFER_SIZE = 1024 * 1024; // 1 MiB por worker
+
+    /**
+     * RESULTADO DA VERIFICAÇÃO
+     */
+    static final class Result {
+        private final String sourceRoot;
+        private final String destRoot;
+        private final int chunks;
+        private final long firstMismatchStart;
+        private final long firstMismatchEnd;
+        private final int mismatchedChunks;
+
+        Result(String sourceRoot, String destRoot, int chunks, long firstMismatchStart, long firstMismatchEnd,
+                int mismatchedChunks) {
+            this.sourceRoot = sourceRoot;
+            this.destRoot = destRoot;
+            this.chunks = chunks;
+            this.firstMismatchStart = firstMismatchStart;
+            this.firstMismatchEnd = firstMismatchEnd;
+            this.mismatchedChunks = mismatchedChunks;
+        }
+
+        boolean matches() {
+            return mismatchedChunks == 0;
+        }
+
+        String sourceRoot() {
+            return sourceRoot;
+        }
+
+        String destRoot() {
+            return destRoot;
+        }
+
+        int chunks() {
+            return chunks;
+        }
+
+        /**
+         * INÍCIO DA PRIMEIRA FAIXA DIVERGENTE (-1 se todas conferem)
+         */
+        long firstMismatchStart() {
+            return firstMismatchStart;
+        }
+
+        long firstMismatchEnd() {
+            return firstMismatchEnd;
+        }
+
+        int mismatchedChunks() {
+            return mismatchedChunks;
+        }
+    }
+
+    private TreeHashVerifier() {
+    }
+
+    /**
+     * CALCULA AS FOLHAS DOS DOIS ARQUIVOS EM PARALELO E COMPARA
+     *
+     * @param checksum  - define o algoritmo das folhas (CRC32C se desativado)
+     * @param chunkSize - tamanho de cada faixa (folha)
+     * @param threads   - paralelismo do ForkJoinPool
+     */
+    static Result verify(String sourceFile, String destFile, CopyChecksum checksum, long chunkSize, int threads)
+            throws IOException {
+        CopyChecksum leafChecksum = checksum.enabled() ? checksum : new CopyChecksum(CopyChecksum.Algorithm.CRC32C);
+
+        try (FileChannel source = FileChannel.open(Paths.get(sourceFile), StandardOpenOption.READ);
+                FileChannel dest = FileChannel.open(Paths.get(destFile), StandardOpenOption.READ)) {
+            long size = Math.max(source.size(), dest.size());
+            int chunks = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+            String[] sourceLeaves = new String[chunks];
+            String[] destLeaves = new String[chunks];
+
+            // UMA TAREFA POR FAIXA - lê a mesma faixa dos dois arquivos
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < chunks; i++) {
+                int chunk = i;
+                long start = chunk * chunkSize;
+                long end = Math.min(size, start + chunkSize);
+                tasks.add(() -> {
+                    ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+                    sourceLeaves[chunk] = leafChecksum.digestOfRange(source, start, end, buffer);
+                    destLeaves[chunk] = leafChecksum.digestOfRange(dest, start, end, buffer);
+                    return null;
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                for (Future<Void> result : pool.invokeAll(tasks)) {
+                    result.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Verificação em árvore interrompida", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) {
+                    throw (IOException) e.getCause();
+                }
+                throw new IOException("Falha em worker da verificação em árvore", e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+
+            // COMPARAÇÃO FOLHA A FOLHA - invokeAll garante a visibilidade dos arrays
+            long firstStart = -1;
+            long firstEnd = -1;
+            int mismatched = 0;
+            for (int i = 0; i < chunks; i++) {
+                if (!sourceLeaves[i].equals(destLeaves[i])) {
+                    if (mismatched == 0) {
+                        firstStart = i * chunkSize;
+                        firstEnd = Math.min(size, firstStart + chunkSize);
+                    }
+                    mismatched++;
+                }
+            }
+
+            return new Result(root(sourceLeaves), root(destLeaves), chunks, firstStart, firstEnd, mismatched);
+        }
+    }
+
+    /**
+     * COMBINA AS FOLHAS PAR A PAR ATÉ A RAIZ - um nó ímpar sobe sem par
+     */
+    private static String root(String[] leaves) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e);
+        }
+
+        String[] level = leaves;
+        while (level.length > 1) {
+            String[] parents = new String[(level.length + 1) / 2];
+            for (int i = 0; i < parents.length; i++) {
+                if (2 * i + 1 < level.length) {
+                    sha256.update(level[2 * i].getBytes(StandardCharsets.US_ASCII));
+                    sha256.update(level[2 * i + 1].getBytes(StandardCharsets.US_ASCII));
+                    parents[i] = toHex(sha256.digest());
+                } else {
+                    parents[i] = level[2 * i];
+                }
+            }
+            level = parents;
+        }
+        return level[0];
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+}
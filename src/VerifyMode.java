@@ -0,0 +1,49 @@
+/**
+ * ENUM: VerifyMode
+ * DESCRIÇÃO: Formas de verificar o conteúdo do destino após a cópia,
+ * selecionadas com --verify=NOME.
+ */
+enum VerifyMode {
+
+    CHECKSUM("checksum", "uma leitura sequencial do destino comparada ao checksum da fonte"),
+    TREE("tree", "árvore de hashes por faixa, fonte e destino lidos em paralelo"),
+    COMPARE("compare", "comparação direta de bytes em janelas mapeadas (MemorySegment.mismatch)"),
+    SAMPLE("sample", "checksum de blocos sorteados, mais o primeiro e o último"),
+    NONE("none", "sem leitura do destino");
+
+    private final String argumentName;
+    private final String description;
+
+    VerifyMode(String argumentName, String description) {
+        this.argumentName = argumentName;
+        this.description = description;
+    }
+
+    /**
+     * NOME USADO NA LINHA DE COMANDO (ex: --verify=tree)
+     */
+    String argumentName() {
+        return argumentName;
+    }
+
+    /**
+     * DESCRIÇÃO EXIBIDA NA AJUDA DE --verify
+     */
+    String description() {
+        return description;
+    }
+
+    /**
+     * CONVERTE O ARGUMENTO DA LINHA DE COMANDO NO MODO CORRESPONDENTE
+     *
+     * @throws IllegalArgumentException - se o nome não corresponder a nenhum modo
+     */
+    static VerifyMode fromArgument(String name) {
+        for (VerifyMode mode : values()) {
+            if (mode.argumentName.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Modo de verificação desconhecido: " + name);
+    }
+}